@@ -0,0 +1,48 @@
+package com.example.congestionservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Random;
+
+/**
+ * 벤치마크용 혼잡도 데이터 (CongestionService.getCongestion() 결과와 같은 형태)
+ */
+public final class CongestionFixtures {
+    public static final String[] LEVELS = {"여유", "보통", "약간 붐빔", "붐빔"};
+
+    private CongestionFixtures() {
+    }
+
+    public static JsonNode congestionList(ObjectMapper mapper, int areaCount, long seed) {
+        Random random = new Random(seed);
+        ArrayNode list = mapper.createArrayNode();
+        for (int i = 1; i <= areaCount; i++) {
+            int min = 1000 + random.nextInt(30000);
+            ObjectNode area = list.addObject();
+            area.put("area_nm", "지역" + i);
+            area.put("area_cd", String.format("POI%03d", i));
+            area.put("area_congest_lvl", LEVELS[random.nextInt(LEVELS.length)]);
+            area.put("area_congest_msg", "사람이 몰려있을 수 있지만 크게 붐비지는 않아요. 도보 이동에 큰 제약이 없어요.");
+            area.put("area_ppltn_min", min);
+            area.put("area_ppltn_max", min + 2000);
+            area.put("male_ppltn_rate", 48.3);
+            area.put("female_ppltn_rate", 51.7);
+            area.put("resnt_ppltn_rate", 23.1);
+            area.put("non_resnt_ppltn_rate", 76.9);
+            area.put("ppltn_time", "2025-06-01 12:00");
+            area.put("fcst_yn", "Y");
+            ArrayNode forecasts = area.putArray("fcst_ppltn");
+            for (int h = 1; h <= 12; h++) {
+                ObjectNode forecast = forecasts.addObject();
+                forecast.put("fcst_time", String.format("2025-06-01 %02d:00", (12 + h) % 24));
+                forecast.put("fcst_congest_lvl", LEVELS[random.nextInt(LEVELS.length)]);
+                forecast.put("fcst_ppltn_min", min + h * 100);
+                forecast.put("fcst_ppltn_max", min + h * 100 + 2000);
+            }
+        }
+        return list;
+    }
+}
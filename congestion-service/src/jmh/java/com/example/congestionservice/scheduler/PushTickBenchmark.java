@@ -0,0 +1,122 @@
+package com.example.congestionservice.scheduler;
+
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.example.congestionservice.service.CongestionDeltaLog;
+import com.example.congestionservice.service.CongestionForecastCache;
+import com.example.congestionservice.service.CongestionHistory;
+import com.example.congestionservice.service.CongestionService;
+import com.example.congestionservice.sse.SseFrame;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PushScheduler 푸시 1회(tick)의 지역별 처리 비용
+ * - es/congestion-aggregation-*.json : 지역별 최신 집계(terms + top_hits) 응답 2회분 (18:00, 18:05, 120개 지역)
+ * - 매 호출마다 두 응답을 번갈아 넣어서 단계 비교/변경분 계산이 실제 전이를 보도록 함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PushTickBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private byte[][] responses;
+    private JsonNode[] ticks;
+    private int next;
+
+    private CongestionAlertEngine alertEngine;
+    private CongestionDeltaLog deltaLog;
+    private CongestionForecastCache forecastCache;
+    private CongestionHistory history;
+
+    @Setup
+    public void setUp() throws IOException {
+        responses = new byte[][]{
+                read("es/congestion-aggregation-1800.json"),
+                read("es/congestion-aggregation-1805.json")
+        };
+        ticks = new JsonNode[responses.length];
+        for (int i = 0; i < responses.length; i++) {
+            ticks[i] = CongestionService.latestPerArea(mapper.readTree(responses[i]));
+        }
+        alertEngine = new CongestionAlertEngine(CongestionAlertEngine.defaultRules()) // 운영 기본 규칙과 같음;
+        deltaLog = new CongestionDeltaLog(64);
+        forecastCache = new CongestionForecastCache();
+        history = new CongestionHistory(288);
+    }
+
+    private JsonNode nextTick() {
+        next ^= 1;
+        return ticks[next];
+    }
+
+    // ES 응답 파싱 + 지역별 최신 문서 추출
+    @Benchmark
+    public JsonNode parseResponse() throws IOException {
+        next ^= 1;
+        return CongestionService.latestPerArea(mapper.readTree(responses[next]));
+    }
+
+    // 이전 단계와 비교해서 알림 대상 계산
+    @Benchmark
+    public JsonNode alertDiff() {
+        return alertEngine.evaluate(nextTick());
+    }
+
+    // 이전 목록과 비교해서 변경분 기록 (지역 맵 재구성 포함)
+    @Benchmark
+    public CongestionDeltaLog.Entry deltaRecord() {
+        return deltaLog.record(nextTick());
+    }
+
+    // fcst_ppltn 을 뺀 ObjectNode 복사본 생성 + 예측 캐시 갱신
+    @Benchmark
+    public JsonNode stripForecasts() {
+        return forecastCache.update(nextTick());
+    }
+
+    // 지역별 이력 링 버퍼에 추가
+    @Benchmark
+    public void historyAppend() {
+        history.append(nextTick());
+    }
+
+    // PushScheduler.deliver() 한 번과 같은 순서로 전부 수행 (SSE 프레임 4종 인코딩 포함)
+    @Benchmark
+    public void fullTick(Blackhole blackhole) throws IOException {
+        JsonNode congestionList = nextTick();
+        blackhole.consume(alertEngine.evaluate(congestionList));
+        history.append(congestionList);
+
+        CongestionDeltaLog.Entry entry = deltaLog.record(congestionList);
+        JsonNode compactList = forecastCache.update(congestionList);
+        JsonNode compactDelta = CongestionForecastCache.withoutForecasts(entry.delta());
+        String eventId = String.valueOf(entry.id());
+        blackhole.consume(SseFrame.of(eventId, "congestion-update", congestionList, mapper));
+        blackhole.consume(SseFrame.of(eventId, "congestion-update", entry.delta(), mapper));
+        blackhole.consume(SseFrame.of(eventId, "congestion-update", compactList, mapper));
+        blackhole.consume(SseFrame.of(eventId, "congestion-update", compactDelta, mapper));
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        try (InputStream in = PushTickBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("benchmark resource not found: " + resource);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
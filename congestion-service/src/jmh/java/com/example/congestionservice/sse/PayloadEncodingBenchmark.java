@@ -0,0 +1,71 @@
+package com.example.congestionservice.sse;
+
+import com.example.congestionservice.service.CongestionForecastCache;
+import com.example.congestionservice.service.CongestionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * congestion-update 프레임 인코딩: SSE(JSON) vs CBOR
+ * - 인코딩 시간은 JMH 결과, 프레임 크기(byte)는 같은 결과표의 보조 카운터 frameBytes 로 함께 출력
+ * - 입력은 es/congestion-aggregation-1800.json (120개 지역, 집계 응답 형태로 생성한 데이터이며 실제 수집본 아님),
+ *   forecast=false 는 fcst_ppltn 을 뺀 목록
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadEncodingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean forecast;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private JsonNode congestionList;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("es/congestion-aggregation-1800.json")) {
+            if (in == null) {
+                throw new IOException("benchmark resource not found");
+            }
+            JsonNode list = CongestionService.latestPerArea(mapper.readTree(in));
+            congestionList = forecast ? list : CongestionForecastCache.withoutForecasts(list);
+        }
+    }
+
+    /**
+     * 마지막으로 인코딩한 프레임 크기 (매 호출 같은 값으로 덮어쓰므로 누적되지 않음)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FrameSize {
+        public long frameBytes;
+    }
+
+    @Benchmark
+    public SseFrame json(FrameSize size) throws IOException {
+        SseFrame frame = SseFrame.of("1", "congestion-update", congestionList, mapper);
+        size.frameBytes = frame.size();
+        return frame;
+    }
+
+    @Benchmark
+    public SseFrame cbor(FrameSize size) throws IOException {
+        SseFrame frame = SseFrame.cbor("1", "congestion-update", congestionList);
+        size.frameBytes = frame.size();
+        return frame;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.congestionservice.sse;
+
+import com.example.congestionservice.CongestionFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 푸시 1회(tick)당 CPU 시간: 구독자마다 직렬화 vs 한 번 인코딩 후 바이트 복사
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SseBroadcastBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int subscribers;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private JsonNode congestionList;
+
+    @Setup
+    public void setUp() {
+        congestionList = CongestionFixtures.congestionList(mapper, 120, 42L);
+    }
+
+    // 기존 방식: emitter.send(...data(congestionList)) 가 구독자마다 Jackson 직렬화
+    @Benchmark
+    public void perSubscriberSerialization() throws IOException {
+        for (int i = 0; i < subscribers; i++) {
+            sink.write("event:congestion-update\ndata:".getBytes());
+            mapper.writeValue(sink, congestionList);
+            sink.write("\n\n".getBytes());
+        }
+    }
+
+    // 변경 방식: 프레임 한 번 인코딩 후 같은 버퍼를 모든 구독자에 씀
+    @Benchmark
+    public void preEncodedFrame() throws IOException {
+        SseFrame frame = SseFrame.of("congestion-update", congestionList, mapper);
+        for (int i = 0; i < subscribers; i++) {
+            sink.write(frame.getBytes());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.congestionservice.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 혼잡도 알림 기록 (Redis Stream, congestion.alert.replay.enabled=true)
+ * - 알림 묶음마다 XADD 하고 MAXLEN ~ 으로 길이 제한
+ * - 재접속한 클라이언트는 마지막으로 받은 알림 id 이후 묶음만 XRANGE 로 다시 받음 (ES/스냅샷 재계산 없음)
+ * - 빠진 구간이 있으면 재생하지 않고 현재 알림으로 대체
+ */
+@Component
+@ConditionalOnProperty(name = "congestion.alert.replay.enabled", havingValue = "true")
+@Slf4j
+public class CongestionAlertLog {
+    public static final String STREAM_KEY = "congestion:alerts";
+    private static final String FIELD = "alerts";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final long maxLength;
+    private final int maxReplay;
+
+    // 이 인스턴스가 마지막으로 전송한 알림 id (SSE 이벤트 id 에 포함)
+    private volatile String lastId;
+
+    public CongestionAlertLog(StringRedisTemplate redisTemplate,
+                              @Value("${congestion.alert.replay.max-length:2000}") long maxLength,
+                              @Value("${congestion.alert.replay.max-replay:100}") int maxReplay) {
+        this.redisTemplate = redisTemplate;
+        this.maxLength = maxLength;
+        this.maxReplay = maxReplay;
+    }
+
+    // 재시작 후에도 이어서 재생할 수 있도록 스트림의 마지막 id 로 시작
+    @PostConstruct
+    public void init() {
+        try {
+            List<MapRecord<String, Object, Object>> latest = redisTemplate.opsForStream()
+                    .reverseRange(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+            if (latest != null && !latest.isEmpty()) {
+                lastId = latest.get(0).getId().getValue();
+            }
+        } catch (Exception e) {
+            log.warn("혼잡도 알림 스트림 조회 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 알림 묶음 추가 후 id 반환 (실패하면 null, 알림 전송은 계속)
+     */
+    public String append(ArrayNode alerts) {
+        try {
+            RecordId id = redisTemplate.opsForStream().add(StreamRecords.string(
+                    Map.of(FIELD, mapper.writeValueAsString(alerts))).withStreamKey(STREAM_KEY));
+            redisTemplate.opsForStream().trim(STREAM_KEY, maxLength, true);
+            return id == null ? null : id.getValue();
+        } catch (Exception e) {
+            log.error("혼잡도 알림 기록 실패", e);
+            return null;
+        }
+    }
+
+    /**
+     * lastAlertId 이후 알림을 한 목록으로 합쳐서 반환 (최대 max-replay 묶음)
+     * 조회 실패, 또는 중간 알림을 빠짐없이 줄 수 없으면 null (현재 스냅샷 기준 알림으로 대체)
+     * - lastAlertId 가 스트림 첫 항목보다 오래됨 → 사이 알림이 MAXLEN 으로 잘려나감
+     * - max-replay 보다 많이 쌓임 → 오래된 묶음만 주면 최신 단계와 어긋남
+     */
+    public ArrayNode since(String lastAlertId) {
+        try {
+            RecordId last = RecordId.of(lastAlertId);
+            StreamOperations<String, Object, Object> stream = redisTemplate.opsForStream();
+
+            List<MapRecord<String, Object, Object>> first = stream.range(STREAM_KEY, Range.unbounded(),
+                    Limit.limit().count(1));
+            if (first == null || first.isEmpty() || isBefore(last, first.get(0).getId())) {
+                log.info("혼잡도 알림 재생 불가 (잘려나간 id) : {}", lastAlertId);
+                return null;
+            }
+
+            // 한 건 더 읽어서 잘림 여부 판단
+            List<MapRecord<String, Object, Object>> records = stream.range(STREAM_KEY,
+                    Range.rightUnbounded(Range.Bound.exclusive(lastAlertId)), Limit.limit().count(maxReplay + 1));
+            if (records != null && records.size() > maxReplay) {
+                log.info("혼잡도 알림 재생 불가 (max-replay {} 초과) : {}", maxReplay, lastAlertId);
+                return null;
+            }
+            ArrayNode alerts = mapper.createArrayNode();
+            if (records != null) {
+                for (MapRecord<String, Object, Object> record : records) {
+                    JsonNode batch = mapper.readTree(String.valueOf(record.getValue().get(FIELD)));
+                    alerts.addAll((ArrayNode) batch);
+                }
+            }
+            return alerts;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("혼잡도 알림 재생 실패 : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isBefore(RecordId id, RecordId other) {
+        int compare = Long.compare(id.getTimestamp(), other.getTimestamp());
+        return compare < 0 || compare == 0 && id.getSequence() < other.getSequence();
+    }
+
+    public String lastId() {
+        return lastId;
+    }
+
+    public void delivered(String alertId) {
+        lastId = alertId;
+    }
+}
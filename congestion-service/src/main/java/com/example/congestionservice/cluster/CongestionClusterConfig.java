@@ -0,0 +1,22 @@
+package com.example.congestionservice.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "congestion.cluster.enabled", havingValue = "true")
+public class CongestionClusterConfig {
+
+    @Bean
+    public RedisMessageListenerContainer congestionListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     CongestionSnapshotRelay congestionSnapshotRelay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(congestionSnapshotRelay, new ChannelTopic(CongestionSnapshotRelay.CHANNEL));
+        return container;
+    }
+}
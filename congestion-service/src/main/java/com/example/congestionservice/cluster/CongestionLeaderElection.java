@@ -0,0 +1,109 @@
+package com.example.congestionservice.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis 기반 ES 조회 리더 선출 (congestion.cluster.enabled=true)
+ * - SET NX PX 로 리더 키를 잡은 인스턴스만 ES 를 조회하고 알림을 계산
+ * - 리더는 주기적으로 TTL 을 갱신하고, 갱신이 끊기면 TTL 만료 후 다른 인스턴스가 이어받음
+ * - Redis 에 닿지 않으면 리더를 내려놓고 단독 모드로 전환 (클러스터 도입 전처럼 인스턴스마다 조회/전송, 중복 조회는 감수)
+ */
+@Component
+@ConditionalOnProperty(name = "congestion.cluster.enabled", havingValue = "true")
+@Slf4j
+public class CongestionLeaderElection {
+    private static final String LEADER_KEY = "congestion:poller:leader";
+
+    // 내가 리더일 때만 TTL 갱신 / 삭제
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long leaseMs;
+
+    private volatile boolean leader;
+    // 마지막 선출 시도가 Redis 오류로 실패했는지
+    private volatile boolean redisUnavailable;
+
+    public CongestionLeaderElection(StringRedisTemplate redisTemplate,
+                                    @Value("${congestion.cluster.leader-lease-ms:30000}") long leaseMs) {
+        this.redisTemplate = redisTemplate;
+        this.leaseMs = leaseMs;
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * Redis 장애로 리더를 정할 수 없는 상태 (이 동안은 각 인스턴스가 직접 조회해서 로컬 구독자에게 전송)
+     */
+    public boolean isStandalone() {
+        return redisUnavailable;
+    }
+
+    @PostConstruct
+    public void init() {
+        elect();
+    }
+
+    // 리스 기간의 1/3 마다 갱신 시도
+    @Scheduled(fixedDelayString = "${congestion.cluster.leader-renew-ms:10000}")
+    public void elect() {
+        boolean wasLeader = leader;
+        boolean wasStandalone = redisUnavailable;
+        try {
+            if (leader) {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(LEADER_KEY), instanceId, String.valueOf(leaseMs));
+                leader = renewed != null && renewed == 1L;
+            }
+            if (!leader) {
+                leader = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(LEADER_KEY, instanceId, Duration.ofMillis(leaseMs)));
+            }
+            redisUnavailable = false;
+        } catch (Exception e) {
+            // Redis 장애 시 리더를 내려놓고 단독 모드 (모든 인스턴스가 푸시를 멈추는 것보다 중복 조회가 나음)
+            log.warn("혼잡도 리더 선출 실패: {}", e.getMessage());
+            leader = false;
+            redisUnavailable = true;
+        }
+
+        if (redisUnavailable != wasStandalone) {
+            log.warn("혼잡도 리더 선출 {} ({})", redisUnavailable ? "불가 → 단독 모드" : "복구 → 클러스터 모드", instanceId);
+        }
+        if (leader != wasLeader) {
+            log.info("혼잡도 ES 조회 리더 {} ({})", leader ? "획득" : "상실", instanceId);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!leader) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), instanceId);
+        } catch (Exception e) {
+            log.warn("혼잡도 리더 반납 실패: {}", e.getMessage());
+        }
+        leader = false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.congestionservice.cluster;
+
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.scheduler.PushScheduler;
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 리더가 계산한 혼잡도 스냅샷/알림을 Redis pub/sub 으로 전 인스턴스에 전달 (congestion.cluster.enabled=true)
+ * - 리더 포함 모든 인스턴스가 수신해서 자기 SSE 구독자에게 전송하므로 알림 내용이 인스턴스마다 같음
+ * - 리더가 아닌 인스턴스도 알림 엔진의 지역별 단계를 갱신해서, 리더가 바뀌면 이어서 전이를 판단
+ */
+@Component
+@ConditionalOnProperty(name = "congestion.cluster.enabled", havingValue = "true")
+@Slf4j
+public class CongestionSnapshotRelay implements MessageListener {
+    public static final String CHANNEL = "congestion:snapshot";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CongestionSnapshotCache congestionSnapshotCache;
+    private final PushScheduler pushScheduler;
+    private final CongestionAlertEngine congestionAlertEngine;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public CongestionSnapshotRelay(StringRedisTemplate redisTemplate,
+                                   CongestionSnapshotCache congestionSnapshotCache,
+                                   @Lazy PushScheduler pushScheduler,
+                                   CongestionAlertEngine congestionAlertEngine) {
+        this.redisTemplate = redisTemplate;
+        this.congestionSnapshotCache = congestionSnapshotCache;
+        this.pushScheduler = pushScheduler;
+        this.congestionAlertEngine = congestionAlertEngine;
+    }
+
+    /**
+     * 리더: 스냅샷과 알림을 한 메시지로 발행
+     * @throws RuntimeException 직렬화나 Redis 발행 실패 (호출한 쪽에서 로컬 전송으로 대체)
+     */
+    public void publish(JsonNode congestionList, ArrayNode changedList, String alertId) {
+        ObjectNode message = mapper.createObjectNode();
+        message.set("congestion", congestionList);
+        message.set("alerts", changedList);
+        message.put("alertId", alertId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, mapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("혼잡도 스냅샷 직렬화 실패", e);
+        }
+    }
+
+    // 모든 인스턴스: 수신한 스냅샷을 로컬 구독자에게 전송
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode root = mapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            JsonNode congestionList = root.path("congestion");
+            congestionSnapshotCache.update(congestionList);
+            if (!pushScheduler.isLeader()) {
+                congestionAlertEngine.observe(congestionList); // 리더는 발행 전에 이미 evaluate 함
+            }
+            JsonNode alertId = root.path("alertId");
+            pushScheduler.deliver(congestionList, (ArrayNode) root.path("alerts"),
+                    alertId.isTextual() ? alertId.asText() : null);
+        } catch (Exception e) {
+            log.error("혼잡도 스냅샷 수신 처리 실패", e);
+        }
+    }
+}
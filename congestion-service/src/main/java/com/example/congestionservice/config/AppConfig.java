@@ -1,14 +1,29 @@
 package com.example.congestionservice.config;
 
+import com.example.escommon.EsIndexResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
+@Import(EsIndexResolver.class) // es-common 공용 소스 (컴포넌트 스캔 범위 밖)
 public class AppConfig {
+    /**
+     * ES 조회용 (연결/응답 대기 제한, ES 가 멈춰도 스케줄러 스레드를 무한정 붙잡지 않음)
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${es.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                     @Value("${es.http.read-timeout-ms:10000}") long readTimeoutMs) {
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
     }
 
 }
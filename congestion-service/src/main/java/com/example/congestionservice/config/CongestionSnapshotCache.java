@@ -0,0 +1,121 @@
+package com.example.congestionservice.config;
+
+import com.example.congestionservice.service.CongestionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 혼잡도 스냅샷 캐시
+ * - PushScheduler 가 주기적으로 갱신하고, 신규 구독자는 ES 대신 이 스냅샷을 읽음
+ * - 동시에 캐시 미스가 나면 ES 조회는 한 번만 수행하고 나머지는 그 결과를 기다림 (single-flight)
+ * - 폴링 조회용 JSON 바이트와 ETag 는 스냅샷이 바뀐 뒤 첫 요청에서 한 번만 만듦
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CongestionSnapshotCache {
+    private final CongestionService congestionService;
+
+    // 스냅샷 최대 허용 나이(ms), 기본값은 푸시 주기(5분) + 여유 30초
+    @Value("${congestion.snapshot.max-staleness-ms:330000}")
+    private long maxStalenessMs;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private volatile Snapshot snapshot;
+    private volatile Encoded encoded;
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    /**
+     * 캐시된 스냅샷 반환, 없거나 오래됐으면 ES 에서 새로 조회
+     */
+    public JsonNode get() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.fetchedAt() <= maxStalenessMs) {
+            return current.data();
+        }
+        return load().data();
+    }
+
+    /**
+     * 스냅샷 강제 갱신 (이미 조회 중이면 그 결과를 공유)
+     */
+    public JsonNode refresh() {
+        return load().data();
+    }
+
+    /**
+     * 외부에서 받은 최신 목록으로 스냅샷 교체 (Kafka 수신 모드)
+     */
+    public void update(JsonNode congestionList) {
+        snapshot = new Snapshot(congestionList, System.currentTimeMillis());
+    }
+
+    /**
+     * 현재 스냅샷의 JSON 바이트와 ETag (ES 는 조회하지 않음, 아직 스냅샷이 없으면 null)
+     * - ETag 는 내용 해시라서 인스턴스가 달라도 같은 데이터면 같은 값
+     */
+    public Encoded encoded() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        Encoded cached = encoded;
+        if (cached != null && cached.data() == current.data()) {
+            return cached;
+        }
+        try {
+            byte[] json = mapper.writeValueAsBytes(current.data());
+            Encoded fresh = new Encoded(current.data(), json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+            encoded = fresh;
+            return fresh;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("혼잡도 스냅샷 직렬화 실패", e);
+        }
+    }
+
+    private Snapshot load() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            // 다른 스레드가 이미 조회 중 → 결과만 기다림
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            Snapshot fresh = new Snapshot(congestionService.getCongestion(), System.currentTimeMillis());
+            snapshot = fresh;
+            mine.complete(fresh);
+            return fresh;
+        } catch (RuntimeException e) {
+            log.error("혼잡도 스냅샷 갱신 실패", e);
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private record Snapshot(JsonNode data, long fetchedAt) {
+    }
+
+    public record Encoded(JsonNode data, byte[] json, String etag) {
+    }
+}
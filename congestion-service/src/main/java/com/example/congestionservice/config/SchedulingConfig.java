@@ -0,0 +1,23 @@
+package com.example.congestionservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * @Scheduled 작업 전용 스레드 풀 (Spring 기본값은 1개)
+     * 리더 리스 갱신, SSE heartbeat/멈춘 writer 정리, ES 폴링, 인덱스 확인이 서로를 막지 않도록
+     * 작업 수 이상으로 둠 → ES 호출이 늦어져도 리스 갱신이 밀려서 리더가 둘이 되지 않음
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${congestion.scheduling.pool-size:6}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("congestion-scheduling-");
+        return scheduler;
+    }
+}
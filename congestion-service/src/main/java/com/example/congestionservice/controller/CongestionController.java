@@ -1,120 +1,350 @@
 package com.example.congestionservice.controller;
 
-import com.example.congestionservice.config.CongestionPreviousCache;
-import com.example.congestionservice.service.CongestionService;
+import com.example.congestionservice.cluster.CongestionAlertLog;
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.example.congestionservice.service.CongestionDeltaLog;
+import com.example.congestionservice.service.CongestionForecastCache;
+import com.example.congestionservice.service.CongestionUserAlerts;
+import com.example.congestionservice.sse.SseEmitters;
+import com.example.congestionservice.sse.SseFanout;
+import com.example.congestionservice.sse.SseFrame;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.function.Predicate;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/main")
 @Slf4j
 public class CongestionController {
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
-    private final CongestionPreviousCache congestionPreviousCache;
-    private final CongestionService congestionService;
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final MediaType CBOR_SEQ = MediaType.parseMediaType(CBOR_SEQ_VALUE);
 
+    private final SseFanout sseFanout;
+    private final CongestionAlertEngine congestionAlertEngine;
+    private final CongestionSnapshotCache congestionSnapshotCache;
+    private final CongestionDeltaLog congestionDeltaLog;
+    private final CongestionForecastCache congestionForecastCache;
+    private final CongestionUserAlerts congestionUserAlerts;
+    private final ObjectProvider<CongestionAlertLog> congestionAlertLog;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // emitter 최대 수명, 지나면 연결을 닫고 브라우저가 Last-Event-ID 로 재접속 (half-open 연결 자원 회수)
+    @Value("${congestion.sse.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    // 연결 수 초과로 거절할 때 재접속까지 대기 시간
+    @Value("${congestion.sse.retry-ms:5000}")
+    private long retryMs;
+
+    /**
+     * 혼잡도 SSE 스트림 (최대 연결 수를 넘으면 503 + Retry-After 로 거절, 재접속은 클라이언트가 직접)
+     * @param delta true 면 congestion-update 에 바뀐 지역만 담아서 전송
+     * @param forecast false 면 인구 예측(fcst_ppltn)을 빼고 전송 (예측은 /congestion/forecast/{area} 로 조회)
+     * @param areas 구독할 지역 id(area_cd) 또는 지역명(area_nm), 없으면 전체 지역
+     * @param lastEventId 재접속 시 브라우저가 보내는 마지막 이벤트 id (delta 모드에서 놓친 변경분만 전송,
+     *                    알림 기록이 켜져 있으면 "변경분 id:알림 id" 형태라 놓친 알림도 Redis 에서 다시 전송)
+     * @param alerts 개인 알림 규칙 "지역:단계" 목록 (예: 강남역:CROWDED,POI001:SLIGHTLY_CROWDED),
+     *               지역이 기준 단계에 올라서면 이 스트림에만 congestion-user-alert 전송
+     */
     @GetMapping("/congestion")
-    public SseEmitter streamCongestion() {
-        SseEmitter emitter = new SseEmitter(0L); // 타임아웃 없음
-        emitters.add(emitter);
+    public ResponseEntity<SseEmitter> streamCongestion(@RequestParam(defaultValue = "false") boolean delta,
+                                                       @RequestParam(defaultValue = "true") boolean forecast,
+                                                       @RequestParam(required = false) List<String> areas,
+                                                       @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                       @RequestParam(required = false) List<String> alerts) {
+        Map<String, Byte> alertRules = parseAlertRules(alerts);
+        if (alertRules == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (sseFanout.isFull()) {
+            log.warn("혼잡도 SSE 연결 수 초과 → 503");
+            return SseEmitters.unavailable(retryMs);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        subscribe(emitter, delta, forecast, areas, lastEventId, false, alertRules);
+        return ResponseEntity.ok(emitter);
+    }
 
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError((e) -> emitters.remove(emitter));
+    /**
+     * 혼잡도 바이너리 스트림 (Accept: application/cbor-seq)
+     * - SSE 스트림과 같은 이벤트/스키마를 CBOR 맵 {id, event, data} 로 인코딩해서 이어 붙인 CBOR Sequence (RFC 8742)
+     * - 파라미터는 SSE 스트림과 동일, 재접속 시 Last-Event-ID 헤더도 그대로 사용
+     */
+    @GetMapping(value = "/congestion", produces = CBOR_SEQ_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamCongestionCbor(@RequestParam(defaultValue = "false") boolean delta,
+                                                                    @RequestParam(defaultValue = "true") boolean forecast,
+                                                                    @RequestParam(required = false) List<String> areas,
+                                                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                                    @RequestParam(required = false) List<String> alerts) {
+        Map<String, Byte> alertRules = parseAlertRules(alerts);
+        if (alertRules == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (sseFanout.isFull()) {
+            log.warn("혼잡도 CBOR 연결 수 초과 → 503");
+            return SseEmitters.unavailable(retryMs);
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(emitterTimeoutMs);
+        subscribe(emitter, delta, forecast, areas, lastEventId, true, alertRules);
+        return ResponseEntity.ok().contentType(CBOR_SEQ).body(emitter);
+    }
 
-        Map<String, String> previousLevels = congestionPreviousCache.getPreviousLevels();
+    // 구독자 등록 후 초기 데이터 투입
+    private void subscribe(ResponseBodyEmitter emitter, boolean delta, boolean forecast, List<String> areas,
+                           String lastEventId, boolean cbor, Map<String, Byte> alertRules) {
+        SseFanout.Subscriber subscriber = sseFanout.register(emitter, delta, forecast,
+                areas == null ? Set.of() : new HashSet<>(areas), cbor, alertRules);
 
         // 초기데이터 투입
         try {
             log.info("혼잡도 초기 데이터 푸시 중...");
-            var congestionList = congestionService.getCongestion();
-
-            emitter.send(SseEmitter.event()
-                    .name("congestion-update")
-                    .data(congestionList));
-
-            // 혼잡도 알림 전송 위한 로직
-            ObjectMapper mapper = new ObjectMapper();
-            ArrayNode changedList = mapper.createArrayNode();  // ArrayNode 생성
-            // previousdata 저장을 위한 데이터
-            Map<String, String> currentLevels = new HashMap<>();
-
-            for (JsonNode area : congestionList) {
-                String areaName = area.get("area_nm").asText();
-                String currentLevel = area.get("area_congest_lvl").asText();
-                currentLevels.put(areaName, currentLevel);
-
-                if(currentLevel.equals("약간 붐빔") || currentLevel.equals("붐빔")){
-                    ObjectNode copy = mapper.createObjectNode();
-                    area.fieldNames().forEachRemaining(field -> {
-                        if (!"fcst_ppltn".equals(field)) {
-                            copy.set(field, area.get(field));
-                        }
-                    });
-                    changedList.add(copy);
+            // delta 모드 재접속이면 놓친 변경분만, 아니면 전체 목록 (이벤트 id 는 보내는 목록과 같은 시점 기준)
+            CongestionDeltaLog.Snapshot missed = delta ? resumeFrom(lastEventId) : null;
+            CongestionDeltaLog.Snapshot initial = missed != null ? missed : currentSnapshot();
+            String eventId = eventId(initial.id());
+            JsonNode congestionList = missed == null ? initial.list() : null;
+            JsonNode initialList = filterAreas(initial.list(), subscriber);
+            if (!forecast) {
+                initialList = CongestionForecastCache.withoutForecasts(initialList);
+            }
+            sseFanout.send(subscriber, encode(cbor, eventId, "congestion-update", initialList));
 
+            // 재접속이면 놓친 알림을 Redis Stream 에서, 아니면 현재 붐비는 지역 (공유 상태는 변경하지 않음)
+            ArrayNode changedList = replayAlerts(lastEventId);
+            if (changedList == null) {
+                if (congestionList == null) {
+                    congestionList = congestionSnapshotCache.get();
                 }
+                changedList = congestionAlertEngine.current(congestionList);
             }
 
-            previousLevels.putAll(currentLevels);
+            sseFanout.send(subscriber, encode(cbor, alertEventId(), "congestion-alert", filterAreas(changedList, subscriber)));
 
-            emitter.send(SseEmitter.event()
-                    .name("congestion-alert")
-                    .data(changedList));
+            // 개인 알림 규칙이 있으면 이미 기준 단계 이상인 지역
+            if (!alertRules.isEmpty()) {
+                if (congestionList == null) {
+                    congestionList = congestionSnapshotCache.get();
+                }
+                sseFanout.send(subscriber, encode(cbor, null, "congestion-user-alert",
+                        congestionUserAlerts.current(subscriber, congestionList)));
+            }
 
             log.info(".. 혼잡도 초기 데이터 푸시 완료");
             
         } catch (IOException | IllegalStateException e) {
             emitter.completeWithError(e);
-            emitters.remove(emitter);
+            sseFanout.remove(subscriber);
         }
+    }
 
-        return emitter;
-
+    // 지역별 인구 예측 (스트림에서 forecast=false 로 뺀 데이터를 지역을 열 때 조회)
+    @GetMapping("/congestion/forecast/{area}")
+    public ResponseEntity<JsonNode> getForecast(@PathVariable String area) {
+        JsonNode forecast = congestionForecastCache.get(area);
+        return forecast == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(forecast);
     }
 
-    // 주기적으로 클라이언트에게 push
+    /**
+     * 주기적으로 클라이언트에게 push
+     * - 전체 목록 / 변경분(delta) × 예측 포함 / 제외 조합별로 한 번씩만 인코딩
+     * - 지역 구독자는 해당 지역만
+     */
     public void sendToClients(JsonNode congestionList) {
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("congestion-update")
-                        .data(congestionList));
+        long startNanos = System.nanoTime();
+        CongestionDeltaLog.Entry entry = congestionDeltaLog.record(congestionList);
+        JsonNode compactList = congestionForecastCache.update(congestionList);
+        JsonNode compactDelta = CongestionForecastCache.withoutForecasts(entry.delta());
+        String eventId = eventId(entry.id());
+        try {
+            sendUpdate(eventId, congestionList, false, true);
+            sendUpdate(eventId, entry.delta(), true, true);
+            sendUpdate(eventId, compactList, false, false);
+            sendUpdate(eventId, compactDelta, true, false);
+        } catch (JsonProcessingException e) {
+            log.error("congestion-update 직렬화 실패", e);
+        }
+        sseFanout.getMetrics().recordFanout(startNanos);
+    }
 
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-                emitters.remove(emitter);
+    private void sendUpdate(String eventId, JsonNode list, boolean delta, boolean forecast) throws JsonProcessingException {
+        Predicate<SseFanout.Subscriber> group = subscriber ->
+                subscriber.isDelta() == delta && subscriber.isForecast() == forecast;
+        broadcast(eventId, "congestion-update", list, group);
+        sendToAreaSubscribers(eventId, "congestion-update", list, group);
+    }
+
+    // 지역 필터 없는 구독자에게 전송, 인코딩(SSE/CBOR)별로 구독자가 있을 때만 한 번씩 인코딩
+    private void broadcast(String eventId, String eventName, JsonNode list,
+                           Predicate<SseFanout.Subscriber> group) throws JsonProcessingException {
+        for (boolean cbor : new boolean[]{false, true}) {
+            Predicate<SseFanout.Subscriber> unfiltered = group.and(subscriber ->
+                    !subscriber.isFiltered() && subscriber.isCbor() == cbor);
+            if (sseFanout.hasSubscribers(unfiltered)) {
+                sseFanout.broadcast(encode(cbor, eventId, eventName, list), unfiltered);
             }
         }
     }
 
     // 주기적으로 클라이언트에게 push
     public void sendAlertToClients(JsonNode changedList) {
-        for (SseEmitter emitter : emitters) {
+        long startNanos = System.nanoTime();
+        String eventId = alertEventId();
+        try {
+            broadcast(eventId, "congestion-alert", changedList, subscriber -> true);
+            sendToAreaSubscribers(eventId, "congestion-alert", changedList, subscriber -> true);
+        } catch (JsonProcessingException e) {
+            log.error("congestion-alert 직렬화 실패", e);
+        }
+        sseFanout.getMetrics().recordFanout(startNanos);
+    }
+
+    // 개인 알림은 규칙을 건 구독자에게만 각자 전송
+    public void sendUserAlertsToClients(Map<SseFanout.Subscriber, ArrayNode> userAlerts) {
+        for (Map.Entry<SseFanout.Subscriber, ArrayNode> alert : userAlerts.entrySet()) {
+            SseFanout.Subscriber subscriber = alert.getKey();
             try {
-                emitter.send(SseEmitter.event()
-                        .name("congestion-alert")
-                        .data(changedList));
+                sseFanout.send(subscriber, encode(subscriber.isCbor(), null, "congestion-user-alert", alert.getValue()));
+            } catch (JsonProcessingException e) {
+                log.error("congestion-user-alert 직렬화 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 지역 구독자에게 구독한 지역만 전송
+     * - 지역 → 구독자 인덱스로 필요한 구독자만 찾고, 같은 지역 조합은 한 번만 인코딩
+     */
+    private void sendToAreaSubscribers(String eventId, String eventName, JsonNode list,
+                                       Predicate<SseFanout.Subscriber> group) throws JsonProcessingException {
+        Map<SseFanout.Subscriber, ArrayNode> subsets = new HashMap<>();
+        for (JsonNode area : list) {
+            for (SseFanout.Subscriber subscriber : sseFanout.subscribersOf(
+                    area.path("area_cd").asText(), area.path("area_nm").asText())) {
+                if (group.test(subscriber)) {
+                    subsets.computeIfAbsent(subscriber, key -> mapper.createArrayNode()).add(area);
+                }
+            }
+        }
 
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-                emitters.remove(emitter);
+        Map<Set<String>, SseFrame> frames = new HashMap<>();
+        Map<Set<String>, SseFrame> cborFrames = new HashMap<>();
+        for (Map.Entry<SseFanout.Subscriber, ArrayNode> subset : subsets.entrySet()) {
+            SseFanout.Subscriber subscriber = subset.getKey();
+            Map<Set<String>, SseFrame> cache = subscriber.isCbor() ? cborFrames : frames;
+            SseFrame frame = cache.get(subscriber.getAreas());
+            if (frame == null) {
+                frame = encode(subscriber.isCbor(), eventId, eventName, subset.getValue());
+                cache.put(subscriber.getAreas(), frame);
             }
+            sseFanout.send(subscriber, frame);
+        }
+    }
+
+    private SseFrame encode(boolean cbor, String eventId, String eventName, JsonNode list) throws JsonProcessingException {
+        return cbor ? SseFrame.cbor(eventId, eventName, list) : SseFrame.of(eventId, eventName, list, mapper);
+    }
+
+    // 구독자가 지정한 지역만 남김 (필터가 없으면 그대로)
+    private JsonNode filterAreas(JsonNode list, SseFanout.Subscriber subscriber) {
+        if (!subscriber.isFiltered()) {
+            return list;
+        }
+        ArrayNode filtered = mapper.createArrayNode();
+        for (JsonNode area : list) {
+            if (subscriber.getAreas().contains(area.path("area_cd").asText())
+                    || subscriber.getAreas().contains(area.path("area_nm").asText())) {
+                filtered.add(area);
+            }
+        }
+        return filtered;
+    }
+
+    // 잘못된 규칙이면 null
+    private Map<String, Byte> parseAlertRules(List<String> alerts) {
+        if (alerts == null || alerts.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return CongestionUserAlerts.parseRules(alerts);
+        } catch (IllegalArgumentException e) {
+            log.warn("개인 알림 규칙 오류: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // SSE 이벤트 id: 알림 기록이 켜져 있으면 "변경분 id:마지막 알림 id", 아니면 변경분 id
+    private String eventId(long deltaId) {
+        CongestionAlertLog alertLog = congestionAlertLog.getIfAvailable();
+        String alertId = alertLog == null ? null : alertLog.lastId();
+        return alertId == null ? String.valueOf(deltaId) : deltaId + ":" + alertId;
+    }
+
+    // 알림 이벤트 id (알림 기록이 꺼져 있으면 기존처럼 id 없음)
+    private String alertEventId() {
+        return congestionAlertLog.getIfAvailable() == null ? null : eventId(congestionDeltaLog.lastId());
+    }
+
+    /**
+     * 현재 전체 목록과 그 이벤트 id
+     * 첫 푸시 전이면 스냅샷을 조회하고, 조회 전에 읽은 id 를 사용 (조회하는 사이 푸시가 기록됐으면 그 기록을 사용)
+     */
+    private CongestionDeltaLog.Snapshot currentSnapshot() {
+        CongestionDeltaLog.Snapshot current = congestionDeltaLog.current();
+        if (current != null) {
+            return current;
+        }
+        long idBefore = congestionDeltaLog.lastId();
+        JsonNode congestionList = congestionSnapshotCache.get();
+        current = congestionDeltaLog.current();
+        return current != null ? current : new CongestionDeltaLog.Snapshot(idBefore, congestionList);
+    }
+
+    private CongestionDeltaLog.Snapshot resumeFrom(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return congestionDeltaLog.since(Long.parseLong(lastEventId.split(":", 2)[0].trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Last-Event-ID 의 알림 id 이후 알림, 알림 기록이 꺼져 있거나 알림 id 가 없으면 null
+    private ArrayNode replayAlerts(String lastEventId) {
+        CongestionAlertLog alertLog = congestionAlertLog.getIfAvailable();
+        if (alertLog == null || lastEventId == null) {
+            return null;
+        }
+        int separator = lastEventId.indexOf(':');
+        if (separator < 0 || separator == lastEventId.length() - 1) {
+            return null;
         }
+        return alertLog.since(lastEventId.substring(separator + 1).trim());
     }
 }
@@ -0,0 +1,62 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.service.CongestionDailyArchive;
+import com.example.congestionservice.service.CongestionHistory;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/main")
+public class CongestionHistoryController {
+    private final CongestionHistory congestionHistory;
+    private final CongestionDailyArchive congestionDailyArchive;
+
+    /**
+     * 지역별 혼잡도 이력 (스파크라인용, 메모리에서만 조회)
+     * levels 는 0:여유, 1:보통, 2:약간 붐빔, 3:붐빔
+     * @param area 지역 id(area_cd) 또는 지역명(area_nm)
+     * @param hours 최근 몇 시간 (기본 24)
+     */
+    @GetMapping("/congestion/history/{area}")
+    public ResponseEntity<JsonNode> getHistory(@PathVariable String area,
+                                               @RequestParam(defaultValue = "24") int hours) {
+        long since = System.currentTimeMillis() - hours * 3_600_000L;
+        JsonNode history = congestionHistory.get(area, since);
+        return history == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(history);
+    }
+
+    /**
+     * 지난 날짜의 지역별 하루치 혼잡도 (seoul_citydata_congestion_yyyyMMdd, 형식은 위 이력과 같음)
+     * 지난 날짜는 바뀌지 않으므로 서버에서 영구 캐시하고, 클라이언트에도 immutable 로 응답
+     * @param area 지역 id(area_cd) 또는 지역명(area_nm)
+     * @param date 날짜 (yyyyMMdd, 마감된 지난 날짜만, 자정 후 rollover overlap 이 지나야 어제 포함)
+     */
+    @GetMapping("/congestion/history/{area}/{date}")
+    public ResponseEntity<JsonNode> getDailyHistory(@PathVariable String area,
+                                                    @PathVariable @DateTimeFormat(pattern = "yyyyMMdd") LocalDate date) {
+        JsonNode history;
+        try {
+            history = congestionDailyArchive.get(area, date);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (history == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .body(history);
+    }
+}
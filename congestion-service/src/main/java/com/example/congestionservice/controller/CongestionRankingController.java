@@ -0,0 +1,34 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.service.CongestionRanking;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/main")
+public class CongestionRankingController {
+    private static final int MAX_LIMIT = 100;
+
+    private final CongestionRanking congestionRanking;
+    private final CongestionSnapshotCache congestionSnapshotCache;
+
+    /**
+     * 지금 가장 붐비는 지역 상위 N개 (혼잡 단계 → 인구 순, 메인 위젯용)
+     * @param limit 개수 (기본 10, 최대 100)
+     */
+    @GetMapping("/congestion/ranking")
+    public ResponseEntity<JsonNode> getRanking(@RequestParam(defaultValue = "10") int limit) {
+        if (congestionRanking.isEmpty()) {
+            // 기동 직후 첫 푸시 전이면 스냅샷으로 채움
+            congestionRanking.update(congestionSnapshotCache.get());
+        }
+        return ResponseEntity.ok(congestionRanking.top(Math.max(0, Math.min(limit, MAX_LIMIT))));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/main")
+public class CongestionSnapshotController {
+    private final CongestionSnapshotCache congestionSnapshotCache;
+
+    @Value("${congestion.sse.retry-ms:5000}")
+    private long retryMs;
+
+    /**
+     * 현재 혼잡도 스냅샷 (SSE 를 쓸 수 없는 폴링 클라이언트용, ES 조회 없음)
+     * 응답의 ETag 를 If-None-Match 로 보내면 데이터가 그대로일 때 본문 없이 304
+     * (ResponseEntity 의 ETag 로 Spring 이 처리), 기동 직후 스냅샷이 없으면 503 + Retry-After
+     */
+    @GetMapping("/congestion/snapshot")
+    public ResponseEntity<byte[]> getSnapshot() {
+        CongestionSnapshotCache.Encoded snapshot = congestionSnapshotCache.encoded();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryMs / 1000)))
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.json());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.kafka.CongestionStats;
+import com.example.congestionservice.kafka.CongestionStatsTopology;
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/main")
+@ConditionalOnProperty(name = "congestion.stats.enabled", havingValue = "true")
+public class CongestionStatsController {
+    private final StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+    private final CongestionStatsTopology congestionStatsTopology;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * 지역별 혼잡도 윈도우 통계 (Kafka Streams 상태 저장소에서 조회)
+     * @param area 지역명(area_nm)
+     * @param hours 최근 몇 시간 (기본 24)
+     */
+    @GetMapping("/congestion/stats/{area}")
+    public ResponseEntity<ArrayNode> getStats(@PathVariable String area,
+                                              @RequestParam(defaultValue = "24") int hours) {
+        KafkaStreams kafkaStreams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (kafkaStreams == null || kafkaStreams.state() != KafkaStreams.State.RUNNING) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        ReadOnlyWindowStore<String, CongestionStats> store = kafkaStreams.store(
+                StoreQueryParameters.fromNameAndType(CongestionStatsTopology.STORE, QueryableStoreTypes.windowStore()));
+
+        long windowMillis = congestionStatsTopology.windowSize().toMillis();
+        Instant to = Instant.now();
+        Instant from = to.minusSeconds(hours * 3600L);
+
+        ArrayNode result = mapper.createArrayNode();
+        try (WindowStoreIterator<CongestionStats> windows = store.fetch(area, from, to)) {
+            while (windows.hasNext()) {
+                KeyValue<Long, CongestionStats> window = windows.next();
+                CongestionStats stats = window.value;
+
+                ObjectNode node = result.addObject();
+                node.put("window_start", window.key);
+                node.put("window_end", window.key + windowMillis);
+                node.put("count", stats.getCount());
+                node.put("ppltn_avg", stats.getPpltnAvg());
+                node.put("ppltn_min", stats.getPpltnMin());
+                node.put("ppltn_max", stats.getPpltnMax());
+                ObjectNode levelMinutes = node.putObject("level_minutes");
+                for (int i = 0; i < CongestionAlertEngine.LEVELS.length; i++) {
+                    levelMinutes.put(CongestionAlertEngine.LEVELS[i], stats.getLevelMillis()[i] / 60_000);
+                }
+            }
+        }
+        return ResponseEntity.ok(result);
+    }
+}
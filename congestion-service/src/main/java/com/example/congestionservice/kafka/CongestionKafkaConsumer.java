@@ -0,0 +1,84 @@
+package com.example.congestionservice.kafka;
+
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.scheduler.PushScheduler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 혼잡도 citydata 토픽 직접 수신 (congestion.ingest.kafka.enabled=true)
+ * - 레코드가 도착하면 지역별 최신값을 갱신하고 바로 SSE 로 푸시 (ES 5분 주기 대기 없음)
+ * - 폴링 배치 단위로 한 번만 푸시, 각 인스턴스가 모든 레코드를 받도록 그룹 id 는 인스턴스마다 다름
+ */
+@Component
+@ConditionalOnProperty(name = "congestion.ingest.kafka.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CongestionKafkaConsumer {
+    private final PushScheduler pushScheduler;
+    private final CongestionSnapshotCache congestionSnapshotCache;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, JsonNode> latestByArea = new TreeMap<>();
+    private boolean bootstrapped;
+
+    @KafkaListener(topics = "${congestion.ingest.kafka.topic:seoul_citydata_congestion}",
+            groupId = "${congestion.ingest.kafka.group-id:congestion-service-${random.uuid}}",
+            batch = "true")
+    public synchronized void consume(List<String> records) {
+        if (!bootstrapped) {
+            // 기동 직후에는 ES 스냅샷으로 지역별 최신값을 채움
+            for (JsonNode congestion : congestionSnapshotCache.get()) {
+                latestByArea.put(congestion.path("area_nm").asText(), congestion);
+            }
+            bootstrapped = true;
+        }
+
+        int merged = 0;
+        for (String record : records) {
+            JsonNode congestion = parse(record);
+            if (congestion == null || !congestion.hasNonNull("area_nm")) {
+                continue;
+            }
+            String areaName = congestion.path("area_nm").asText();
+            JsonNode previous = latestByArea.get(areaName);
+            if (previous == null || congestion.path("ppltn_time").asText()
+                    .compareTo(previous.path("ppltn_time").asText()) >= 0) {
+                latestByArea.put(areaName, congestion);
+                merged++;
+            }
+        }
+
+        if (merged == 0) {
+            return;
+        }
+        log.info("혼잡도 Kafka 수신 : {}건 반영 → 푸시", merged);
+        JsonNode congestionList = mapper.valueToTree(latestByArea.values());
+        congestionSnapshotCache.update(congestionList);
+        // 클러스터 모드에서는 리더만 발행 (나머지는 Redis pub/sub 으로 수신)
+        if (pushScheduler.isLeader()) {
+            pushScheduler.publish(congestionList);
+        }
+    }
+
+    // ES 문서와 같은 {"congestion": {...}} 형태와 congestion 객체 단독 형태 모두 허용
+    private JsonNode parse(String record) {
+        try {
+            JsonNode root = mapper.readTree(record);
+            return root.has("congestion") ? root.get("congestion") : root;
+        } catch (JsonProcessingException e) {
+            log.warn("혼잡도 레코드 파싱 실패: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.congestionservice.kafka;
+
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 지역별 혼잡도 윈도우 집계값 (Kafka Streams 상태 저장소 값)
+ */
+@Data
+public class CongestionStats {
+    private static final DateTimeFormatter PPLTN_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    private long count;
+    private long ppltnSum;          // (min+max)/2 합계
+    private long ppltnMin = Long.MAX_VALUE;
+    private long ppltnMax = Long.MIN_VALUE;
+    private long[] levelMillis = new long[CongestionAlertEngine.LEVELS.length]; // 단계별 머문 시간
+    private int lastLevel = CongestionAlertEngine.UNKNOWN;
+    private long lastTime;
+
+    public CongestionStats add(JsonNode congestion) {
+        long min = congestion.path("area_ppltn_min").asLong();
+        long max = congestion.path("area_ppltn_max").asLong();
+        count++;
+        ppltnSum += (min + max) / 2;
+        ppltnMin = Math.min(ppltnMin, min);
+        ppltnMax = Math.max(ppltnMax, max);
+
+        // 직전 샘플의 단계에 두 샘플 사이 시간을 더함
+        long time = parseTime(congestion.path("ppltn_time").asText());
+        if (lastLevel != CongestionAlertEngine.UNKNOWN && time > lastTime) {
+            levelMillis[lastLevel] += time - lastTime;
+        }
+        if (time >= lastTime) {
+            lastLevel = CongestionAlertEngine.ordinal(congestion.path("area_congest_lvl").asText());
+            lastTime = time;
+        }
+        return this;
+    }
+
+    @JsonIgnore
+    public double getPpltnAvg() {
+        return count == 0 ? 0 : (double) ppltnSum / count;
+    }
+
+    private static long parseTime(String ppltnTime) {
+        try {
+            return LocalDateTime.parse(ppltnTime, PPLTN_TIME).atZone(SEOUL).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+}
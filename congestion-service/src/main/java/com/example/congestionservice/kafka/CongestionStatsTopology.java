@@ -0,0 +1,90 @@
+package com.example.congestionservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+
+/**
+ * 지역별 혼잡도 hopping window 집계 (congestion.stats.enabled=true)
+ * - 평균/최소/최대 인구와 단계별 머문 시간을 윈도우 상태 저장소(congestion-stats)에 저장
+ * - /main/congestion/stats/{area} 에서 저장소를 직접 조회 (ES date_histogram 대체)
+ * - application id 는 spring.kafka.streams.application-id 로 지정
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "congestion.stats.enabled", havingValue = "true")
+@Slf4j
+public class CongestionStatsTopology {
+    public static final String STORE = "congestion-stats";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${congestion.ingest.kafka.topic:seoul_citydata_congestion}")
+    private String topic;
+
+    @Value("${congestion.stats.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${congestion.stats.advance-minutes:15}")
+    private long advanceMinutes;
+
+    @Value("${congestion.stats.retention-hours:24}")
+    private long retentionHours;
+
+    @Bean
+    public KStream<String, String> congestionStatsStream(StreamsBuilder builder) {
+        KStream<String, String> stream = builder.stream(topic, Consumed.with(Serdes.String(), Serdes.String()));
+
+        stream.selectKey((key, value) -> areaName(value))
+                .filter((areaName, value) -> areaName != null)
+                .groupByKey(Grouped.with(Serdes.String(), Serdes.String()))
+                .windowedBy(TimeWindows.ofSizeWithNoGrace(Duration.ofMinutes(windowMinutes))
+                        .advanceBy(Duration.ofMinutes(advanceMinutes)))
+                .aggregate(CongestionStats::new,
+                        (areaName, value, stats) -> stats.add(congestion(value)),
+                        Materialized.<String, CongestionStats, WindowStore<Bytes, byte[]>>as(STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(new JsonSerde<>(CongestionStats.class).ignoreTypeHeaders().noTypeInfo())
+                                .withRetention(Duration.ofHours(retentionHours)));
+
+        return stream;
+    }
+
+    public Duration windowSize() {
+        return Duration.ofMinutes(windowMinutes);
+    }
+
+    private String areaName(String value) {
+        JsonNode congestion = congestion(value);
+        return congestion.hasNonNull("area_nm") ? congestion.get("area_nm").asText() : null;
+    }
+
+    // ES 문서와 같은 {"congestion": {...}} 형태와 congestion 객체 단독 형태 모두 허용
+    private JsonNode congestion(String value) {
+        try {
+            JsonNode root = mapper.readTree(value);
+            return root.has("congestion") ? root.get("congestion") : root;
+        } catch (JsonProcessingException e) {
+            log.warn("혼잡도 레코드 파싱 실패: {}", e.getOriginalMessage());
+            return mapper.createObjectNode();
+        }
+    }
+}
@@ -1,97 +1,137 @@
 package com.example.congestionservice.scheduler;
 
-import com.example.congestionservice.config.CongestionPreviousCache;
+import com.example.congestionservice.cluster.CongestionAlertLog;
+import com.example.congestionservice.cluster.CongestionLeaderElection;
+import com.example.congestionservice.cluster.CongestionSnapshotRelay;
+import com.example.congestionservice.config.CongestionSnapshotCache;
 import com.example.congestionservice.controller.CongestionController;
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.example.congestionservice.service.CongestionHistory;
+import com.example.congestionservice.service.CongestionRanking;
 import com.example.congestionservice.service.CongestionService;
+import com.example.congestionservice.service.CongestionUserAlerts;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PushScheduler {
     private final CongestionController congestionController;
-    private final CongestionPreviousCache congestionPreviousCache;
+    private final CongestionAlertEngine congestionAlertEngine;
+    private final CongestionSnapshotCache congestionSnapshotCache;
+    private final CongestionHistory congestionHistory;
+    private final CongestionRanking congestionRanking;
+    private final CongestionUserAlerts congestionUserAlerts;
     private final CongestionService congestionService;
+    private final ObjectProvider<CongestionLeaderElection> congestionLeaderElection;
+    private final ObjectProvider<CongestionSnapshotRelay> congestionSnapshotRelay;
+    private final ObjectProvider<CongestionAlertLog> congestionAlertLog;
 
-    // 이전 혼잡도 상태를 저장하는 필드 추가(혼잡도 알림용)
-//    private Map<String, String> previousLevels = new HashMap<>();
+    // Kafka 수신 모드에서는 도착 즉시 푸시하므로 ES 주기 조회 생략
+    @Value("${congestion.ingest.kafka.enabled:false}")
+    private boolean kafkaIngestEnabled;
 
-    @Scheduled(fixedRate = 300_000)
-    public void push() {
-        Map<String, String> previousLevels = congestionPreviousCache.getPreviousLevels();
+    // 최신 시각 확인 사이에도 이 시간이 지나면 전체 조회 (확인 쿼리가 계속 실패할 때 대비)
+    @Value("${congestion.poll.max-interval-ms:300000}")
+    private long maxIntervalMs;
+
+    // 마지막으로 푸시한 데이터의 최신 시각/문서 수와 푸시 시각
+    private CongestionService.Freshness lastFreshness;
+    private long lastPushAt;
 
+    /**
+     * 짧은 주기로 ES 의 최신 ppltn_time 과 문서 수만 확인하고, 둘 중 하나라도 바뀌었을 때만 전체 조회 후 푸시
+     * (최신 시각만 보면 같은 시각으로 늦게 들어온 지역 문서를 놓침, 날짜가 바뀌어 문서 수가 줄어도 새 데이터로 봄)
+     */
+    @Scheduled(fixedDelayString = "${congestion.poll.interval-ms:30000}")
+    public void poll() {
+        if (kafkaIngestEnabled || !isLeader()) {
+            return;
+        }
+        CongestionService.Freshness freshness = congestionService.getFreshness();
+        boolean fresh = freshness != null && !freshness.equals(lastFreshness);
+        if (!fresh && System.currentTimeMillis() - lastPushAt < maxIntervalMs) {
+            return;
+        }
+        push();
+        if (fresh) {
+            lastFreshness = freshness;
+        }
+    }
+
+    public void push() {
         log.info("혼잡도 푸시 중...");
-        var congestionList = congestionService.getCongestion();
+        lastPushAt = System.currentTimeMillis();
+        var congestionList = congestionSnapshotCache.refresh(); // 스냅샷 갱신 후 전송
+        publish(congestionList);
+    }
 
-        congestionController.sendToClients(congestionList); // 모든 지역 혼잡도 전송
+    // 클러스터 모드가 아니거나 Redis 장애로 단독 모드면 항상 리더
+    public boolean isLeader() {
+        CongestionLeaderElection leaderElection = congestionLeaderElection.getIfAvailable();
+        return leaderElection == null || leaderElection.isLeader() || leaderElection.isStandalone();
+    }
 
-        // 혼잡도 알림 전송 위한 로직
-        Map<String, String> currentLevels = new HashMap<>();
-        ObjectMapper mapper = new ObjectMapper();
-        // ArrayNode 생성
-        ArrayNode changedList = mapper.createArrayNode();
-
-        for (JsonNode area : congestionList) {
-            String areaName = area.get("area_nm").asText();
-            String currentLevel = area.get("area_congest_lvl").asText();
-            currentLevels.put(areaName, currentLevel);
-
-            String previousLevel = previousLevels.get(areaName);
-            // 혼잡도 변화 알림 로그 확인
-            // System.out.println(areaName+"의"+previousLevel+":ㅣㅣ"+currentLevel);
-
-            // 혼잡도 알림 전송(조건 : 1,2단계 -> 3단계 // 4단계)
-            if (previousLevel == null && (currentLevel.equals("약간 붐빔") || currentLevel.equals("붐빔"))) {
-                ObjectNode copy = mapper.createObjectNode();
-                area.fieldNames().forEachRemaining(field -> {
-                    if (!"fcst_ppltn".equals(field)) {
-                        copy.set(field, area.get(field));
-                    }
-                });
-                changedList.add(copy);
-            }
-            else if (previousLevel != null){
-                if(currentLevel.equals("붐빔")){
-                    ObjectNode copy = mapper.createObjectNode();
-                    area.fieldNames().forEachRemaining(field -> {
-                        if (!"fcst_ppltn".equals(field)) {
-                            copy.set(field, area.get(field));
-                        }
-                    });
-                    changedList.add(copy);
-                }
-                else if ((previousLevel.equals("여유") || previousLevel.equals("보통")) && (currentLevel.equals("약간 붐빔"))) {
-                    ObjectNode copy = mapper.createObjectNode();
-                    area.fieldNames().forEachRemaining(field -> {
-                        if (!"fcst_ppltn".equals(field)) {
-                            copy.set(field, area.get(field));
-                        }
-                    });
-                    changedList.add(copy);
-                }
+    /**
+     * 새 혼잡도 목록으로 알림을 계산하고 전송
+     * - 클러스터 모드면 Redis pub/sub 으로 발행해서 모든 인스턴스가 deliver (발행 실패 시 이 인스턴스만 deliver)
+     * - 알림 기록이 켜져 있으면 알림 묶음을 Redis Stream 에 한 번만 추가하고 그 id 를 함께 전달
+     * (ES 주기 조회와 Kafka 수신이 같은 경로를 사용, 순서 보장을 위해 동기화)
+     */
+    public synchronized void publish(JsonNode congestionList) {
+        // 혼잡도 알림 전송 위한 로직 (이전 단계 대비 규칙에 맞는 전이만)
+        ArrayNode changedList = congestionAlertEngine.evaluate(congestionList);
+
+        CongestionAlertLog alertLog = congestionAlertLog.getIfAvailable();
+        String alertId = alertLog == null || changedList.isEmpty() ? null : alertLog.append(changedList);
+
+        CongestionSnapshotRelay relay = congestionSnapshotRelay.getIfAvailable();
+        if (relay != null) {
+            try {
+                relay.publish(congestionList, changedList, alertId);
+                return;
+            } catch (RuntimeException e) {
+                // Redis 장애로 틱을 통째로 잃지 않도록 최소한 이 인스턴스 구독자에게는 전송
+                log.warn("혼잡도 스냅샷 발행 실패 → 로컬 전송으로 대체 : {}", e.getMessage());
             }
         }
+        deliver(congestionList, changedList, alertId);
+    }
+
+    /**
+     * 이력/SSE 구독자에게 혼잡도와 알림 전송
+     * @param alertId Redis Stream 에 기록된 알림 묶음 id (기록하지 않았으면 null)
+     */
+    public synchronized void deliver(JsonNode congestionList, ArrayNode changedList, String alertId) {
+        congestionHistory.append(congestionList); // 지역별 이력 링 버퍼
+        congestionRanking.update(congestionList); // 붐비는 순위
+
+        congestionController.sendToClients(congestionList); // 모든 지역 혼잡도 전송
 
         // 변화 없으면 return
         if (changedList.isEmpty()) {
             log.info("혼잡도 변화 없음");
         }else{
             log.info("혼잡도 변화 있음 → alert-update로 SSE 전송");
+            CongestionAlertLog alertLog = congestionAlertLog.getIfAvailable();
+            if (alertLog != null && alertId != null) {
+                alertLog.delivered(alertId); // 이후 이벤트 id 에 포함
+            }
             congestionController.sendAlertToClients(changedList); // ✨ 바뀐 것만 보냄
         }
 
-        previousLevels.clear();
-        previousLevels.putAll(currentLevels);
+        // 개인 알림 (단계가 바뀐 지역의 규칙만 판단, 인스턴스별 구독자에게만)
+        var userAlerts = congestionUserAlerts.evaluate(congestionList);
+        if (!userAlerts.isEmpty()) {
+            congestionController.sendUserAlertsToClients(userAlerts);
+        }
 
     }
 }
@@ -0,0 +1,155 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 혼잡도 알림 판단 엔진 (PushScheduler, CongestionController 공용)
+ * - 혼잡도 문자열을 0~3 서수로 바꾸고, 지역별 직전 단계는 ConcurrentHashMap 에 byte 로 보관
+ * - 알림 규칙은 "이전단계:현재단계" 목록으로 설정하며, 이전단계별 비트마스크로 한 번에 판단
+ */
+@Component
+public class CongestionAlertEngine {
+    public static final String[] LEVELS = {"여유", "보통", "약간 붐빔", "붐빔"};
+    public static final byte UNKNOWN = -1;
+
+    // 기본 알림 규칙 = 기존 동작 (1,2단계 → 3단계, 모든 단계 → 4단계, 첫 조회 시 3·4단계)
+    public static final String DEFAULT_RULES =
+            "NONE:SLIGHTLY_CROWDED,NONE:CROWDED,RELAXED:SLIGHTLY_CROWDED,NORMAL:SLIGHTLY_CROWDED,ANY:CROWDED";
+
+    // 이전 단계가 없을 때(첫 조회)의 규칙 인덱스
+    private static final int NONE = LEVELS.length;
+    private static final String[] RULE_NAMES = {"RELAXED", "NORMAL", "SLIGHTLY_CROWDED", "CROWDED", "NONE"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Byte> previousLevels = new ConcurrentHashMap<>();
+    // alertMask[이전단계] 의 i 번째 비트 = 현재단계 i 면 알림
+    private final int[] alertMask = new int[LEVELS.length + 1];
+
+    /**
+     * @param rules 알림 규칙, 기본값은 DEFAULT_RULES
+     */
+    public CongestionAlertEngine(@Value("${congestion.alert.rules:" + DEFAULT_RULES + "}") List<String> rules) {
+        for (String rule : rules) {
+            String[] parts = rule.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 혼잡도 알림 규칙: " + rule);
+            }
+            int to = ruleIndex(parts[1]);
+            if (to == NONE) {
+                throw new IllegalArgumentException("현재 단계에는 NONE 을 쓸 수 없음: " + rule);
+            }
+            if ("ANY".equals(parts[0])) {
+                for (int from = 0; from < alertMask.length; from++) {
+                    alertMask[from] |= 1 << to;
+                }
+            } else {
+                alertMask[ruleIndex(parts[0])] |= 1 << to;
+            }
+        }
+    }
+
+    public static List<String> defaultRules() {
+        return List.of(DEFAULT_RULES.split(","));
+    }
+
+    public static byte ordinal(String level) {
+        for (byte i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) {
+                return i;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * 새 혼잡도 목록으로 지역별 단계를 갱신하고, 규칙에 맞는 전이가 일어난 지역 반환 (fcst_ppltn 제외)
+     * - 목록은 항상 전체 지역이므로, 목록에서 빠진 지역의 직전 단계는 제거 (다시 나타나면 첫 조회처럼 판단)
+     */
+    public ArrayNode evaluate(JsonNode congestionList) {
+        ArrayNode changedList = mapper.createArrayNode();
+        Set<String> present = new HashSet<>();
+        for (JsonNode area : congestionList) {
+            String areaName = area.path("area_nm").asText();
+            present.add(areaName); // 단계를 알 수 없는 지역도 직전 단계는 유지
+            byte current = ordinal(area.path("area_congest_lvl").asText());
+            if (current == UNKNOWN) {
+                continue;
+            }
+            Byte previous = previousLevels.put(areaName, current);
+            if (isAlert(previous == null ? NONE : previous, current)) {
+                changedList.add(CongestionForecastCache.withoutForecast(area));
+            }
+        }
+        previousLevels.keySet().retainAll(present);
+        return changedList;
+    }
+
+    /**
+     * 알림 판단 없이 지역별 단계만 갱신 (리더가 아닌 인스턴스가 릴레이로 받은 목록을 반영)
+     * - 장애 조치로 리더가 바뀌어도 직전 단계를 이어받아 첫 조회처럼 알림이 쏟아지지 않음
+     */
+    public void observe(JsonNode congestionList) {
+        Set<String> present = new HashSet<>();
+        for (JsonNode area : congestionList) {
+            String areaName = area.path("area_nm").asText();
+            present.add(areaName);
+            byte current = ordinal(area.path("area_congest_lvl").asText());
+            if (current != UNKNOWN) {
+                previousLevels.put(areaName, current);
+            }
+        }
+        previousLevels.keySet().retainAll(present);
+    }
+
+    /**
+     * 신규 구독자용 현재 알림 목록 (이전 단계가 없다고 보고 판단, 공유 상태는 건드리지 않음)
+     */
+    public ArrayNode current(JsonNode congestionList) {
+        ArrayNode alertList = mapper.createArrayNode();
+        for (JsonNode area : congestionList) {
+            byte current = ordinal(area.path("area_congest_lvl").asText());
+            if (current != UNKNOWN && isAlert(NONE, current)) {
+                alertList.add(CongestionForecastCache.withoutForecast(area));
+            }
+        }
+        return alertList;
+    }
+
+    /**
+     * 단계 이름(RELAXED, NORMAL, SLIGHTLY_CROWDED, CROWDED 또는 여유, 보통, 약간 붐빔, 붐빔)을 서수로 변환
+     */
+    public static byte parseLevel(String name) {
+        byte level = ordinal(name.trim());
+        if (level != UNKNOWN) {
+            return level;
+        }
+        int index = ruleIndex(name);
+        if (index == NONE) {
+            throw new IllegalArgumentException("알 수 없는 혼잡도 단계: " + name);
+        }
+        return (byte) index;
+    }
+
+    private boolean isAlert(int from, int to) {
+        return (alertMask[from] >>> to & 1) != 0;
+    }
+
+    private static int ruleIndex(String name) {
+        for (int i = 0; i < RULE_NAMES.length; i++) {
+            if (RULE_NAMES[i].equals(name.trim())) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 혼잡도 단계: " + name);
+    }
+}
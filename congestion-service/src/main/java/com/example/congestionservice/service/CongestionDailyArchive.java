@@ -0,0 +1,145 @@
+package com.example.congestionservice.service;
+
+import com.example.escommon.EsIndexResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지난 날짜의 지역별 하루치 혼잡도 (영구 캐시)
+ * - 지난 날짜 인덱스는 더 이상 바뀌지 않으므로 (지역, 날짜)마다 ES 는 처음 한 번만 조회
+ * - 메모리는 LRU (congestion.archive.cache-size), congestion.archive.dir 을 지정하면 디스크에도 저장해서 재시작 후에도 재사용
+ * - 같은 (지역, 날짜)를 동시에 요청하면 먼저 온 요청의 조회 결과를 함께 사용
+ * - 데이터 없는 (지역, 날짜)는 negative-ttl-ms 동안만 따로 기억 (잘못된 지역명이 영구 캐시를 채우지 않도록)
+ * - 자정 이후 rollover overlap 시간이 지나야 어제도 대상 (그 전에는 늦게 들어온 문서가 더 쌓일 수 있음)
+ */
+@Component
+@Slf4j
+public class CongestionDailyArchive {
+    private final CongestionService congestionService;
+    private final EsIndexResolver esIndexResolver;
+    private final ObjectMapper mapper = new ObjectMapper();
+    // 디스크 저장 위치 (null 이면 메모리만)
+    private final Path dir;
+    // "yyyyMMdd/지역" → 하루치 이력
+    private final Map<String, JsonNode> cache;
+    // "yyyyMMdd/지역" → 데이터 없음 기억 만료 시각 (ms)
+    private final Map<String, Long> missing;
+    private final long negativeTtlMs;
+    private final Map<String, CompletableFuture<JsonNode>> loading = new ConcurrentHashMap<>();
+
+    public CongestionDailyArchive(CongestionService congestionService,
+                                  EsIndexResolver esIndexResolver,
+                                  @Value("${congestion.archive.cache-size:2000}") int cacheSize,
+                                  @Value("${congestion.archive.negative-ttl-ms:600000}") long negativeTtlMs,
+                                  @Value("${congestion.archive.dir:}") String dir) {
+        this.congestionService = congestionService;
+        this.esIndexResolver = esIndexResolver;
+        this.negativeTtlMs = negativeTtlMs;
+        this.dir = dir.isBlank() ? null : Path.of(dir);
+        this.cache = lru(cacheSize);
+        this.missing = lru(cacheSize);
+    }
+
+    private static <V> Map<String, V> lru(int size) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > size;
+            }
+        });
+    }
+
+    /**
+     * @param area 지역 id(area_cd) 또는 지역명(area_nm)
+     * @return 하루치 이력, 해당 날짜에 데이터가 없으면 null
+     * @throws IllegalArgumentException 아직 마감되지 않은 날짜 (오늘 이후, 또는 rollover overlap 중인 어제)
+     */
+    public JsonNode get(String area, LocalDate date) {
+        if (!esIndexResolver.isSealed(date)) {
+            throw new IllegalArgumentException("마감된 지난 날짜만 조회 가능: " + date);
+        }
+        String key = date.format(DateTimeFormatter.BASIC_ISO_DATE) + "/" + area;
+        JsonNode cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Long missingUntil = missing.get(key);
+        if (missingUntil != null && missingUntil > System.currentTimeMillis()) {
+            return null;
+        }
+
+        CompletableFuture<JsonNode> mine = new CompletableFuture<>();
+        CompletableFuture<JsonNode> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            return unwrap(running.join());
+        }
+        try {
+            // 앞선 조회가 캐시에 넣고 loading 에서 빠진 사이에 들어온 경우
+            JsonNode result = cache.get(key);
+            if (result == null) {
+                result = load(area, date);
+                if (result.isNull()) {
+                    missing.put(key, System.currentTimeMillis() + negativeTtlMs);
+                } else {
+                    cache.put(key, result);
+                    missing.remove(key);
+                }
+            }
+            mine.complete(result);
+            return unwrap(result);
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            log.error("과거 혼잡도 조회 실패 : {} {}", area, date, e);
+            throw new RuntimeException("과거 혼잡도 조회 실패", e);
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    private JsonNode load(String area, LocalDate date) throws IOException {
+        Path file = dir == null ? null : dir.resolve(date.format(DateTimeFormatter.BASIC_ISO_DATE))
+                .resolve(URLEncoder.encode(area, StandardCharsets.UTF_8) + ".json");
+        if (file != null && Files.exists(file)) {
+            return mapper.readTree(file.toFile());
+        }
+
+        JsonNode result = congestionService.getCongestionOfDay(area, date);
+        if (result == null) {
+            return NullNode.instance;
+        }
+        if (file != null) {
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = Files.createTempFile(file.getParent(), "archive", ".tmp");
+                mapper.writeValue(temp.toFile(), result);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // 디스크 저장 실패는 메모리 캐시로 계속
+                log.warn("과거 혼잡도 파일 저장 실패 : {} ({})", file, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static JsonNode unwrap(JsonNode cached) {
+        return cached.isNull() ? null : cached;
+    }
+}
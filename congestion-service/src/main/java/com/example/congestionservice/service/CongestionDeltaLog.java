@@ -0,0 +1,102 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 혼잡도 변경분(delta) 기록
+ * - 푸시마다 단조 증가하는 이벤트 id 를 부여하고, 직전 스냅샷 대비 바뀐 지역만 추려서 링 버퍼에 보관
+ * - Last-Event-ID 로 재접속한 클라이언트에게 놓친 변경분만 합쳐서 돌려줌
+ * - 이벤트 id 와 목록은 항상 같은 잠금 안에서 함께 반환 (id 가 목록 내용과 어긋나면 재개 시 변경분이 빠지거나 중복됨)
+ */
+@Component
+public class CongestionDeltaLog {
+    // 변경 여부를 판단하는 필드
+    private static final String[] TRACKED_FIELDS = {"area_congest_lvl", "area_ppltn_min", "area_ppltn_max"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Entry[] ring;
+    private final Map<String, JsonNode> previousAreas = new HashMap<>();
+    // 마지막으로 기록한 전체 목록 (lastId 시점의 내용)
+    private JsonNode lastList;
+
+    // 재시작해도 id 가 줄어들지 않도록 기동 시각을 시작값으로 사용
+    private long lastId = System.currentTimeMillis();
+    private int size;
+
+    public CongestionDeltaLog(@Value("${congestion.delta.ring-size:64}") int ringSize) {
+        this.ring = new Entry[ringSize];
+    }
+
+    /**
+     * 새 스냅샷을 기록하고 이벤트 id 와 변경분 반환
+     */
+    public synchronized Entry record(JsonNode congestionList) {
+        ArrayNode changed = mapper.createArrayNode();
+        for (JsonNode area : congestionList) {
+            String areaName = area.path("area_nm").asText();
+            JsonNode previous = previousAreas.put(areaName, area);
+            if (previous == null || isChanged(previous, area)) {
+                changed.add(area);
+            }
+        }
+
+        lastList = congestionList;
+        Entry entry = new Entry(++lastId, changed);
+        ring[(int) (entry.id() % ring.length)] = entry;
+        size = Math.min(size + 1, ring.length);
+        return entry;
+    }
+
+    /**
+     * lastEventId 이후 변경분을 지역별 최신값으로 합쳐서 반환
+     * 링 버퍼 범위를 벗어났거나 모르는 id 면 null (전체 목록을 다시 보내야 함)
+     */
+    public synchronized Snapshot since(long lastEventId) {
+        long oldestId = lastId - size + 1;
+        if (size == 0 || lastEventId > lastId || lastEventId < oldestId - 1) {
+            return null;
+        }
+
+        Map<String, JsonNode> merged = new LinkedHashMap<>();
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            for (JsonNode area : ring[(int) (id % ring.length)].delta()) {
+                merged.put(area.path("area_nm").asText(), area);
+            }
+        }
+        return new Snapshot(lastId, mapper.valueToTree(merged.values()));
+    }
+
+    /**
+     * 마지막으로 기록한 전체 목록과 그 이벤트 id (아직 기록이 없으면 null)
+     */
+    public synchronized Snapshot current() {
+        return lastList == null ? null : new Snapshot(lastId, lastList);
+    }
+
+    public synchronized long lastId() {
+        return lastId;
+    }
+
+    private static boolean isChanged(JsonNode previous, JsonNode current) {
+        for (String field : TRACKED_FIELDS) {
+            if (!previous.path(field).equals(current.path(field))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Entry(long id, ArrayNode delta) {
+    }
+
+    public record Snapshot(long id, JsonNode list) {
+    }
+}
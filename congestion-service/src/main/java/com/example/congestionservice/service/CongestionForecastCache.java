@@ -0,0 +1,68 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지역별 인구 예측(fcst_ppltn) 캐시
+ * - 푸시마다 지역별 예측만 따로 보관하고, 화면에서 지역을 열 때 /main/congestion/forecast/{area} 로 조회
+ * - 예측을 뺀 가벼운 목록도 함께 만들어 메인 스트림(forecast=false)에 사용
+ */
+@Component
+public class CongestionForecastCache {
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    // area_cd, area_nm 둘 다 키로 사용
+    private final Map<String, JsonNode> forecastByArea = new ConcurrentHashMap<>();
+
+    /**
+     * 예측 캐시를 갱신하고 예측을 뺀 목록 반환
+     */
+    public ArrayNode update(JsonNode congestionList) {
+        ArrayNode compactList = NODES.arrayNode();
+        for (JsonNode area : congestionList) {
+            ObjectNode forecast = NODES.objectNode();
+            forecast.set("area_nm", area.path("area_nm"));
+            forecast.set("area_cd", area.path("area_cd"));
+            forecast.set("ppltn_time", area.path("ppltn_time"));
+            forecast.set("fcst_ppltn", area.path("fcst_ppltn"));
+
+            forecastByArea.put(area.path("area_nm").asText(), forecast);
+            if (area.hasNonNull("area_cd")) {
+                forecastByArea.put(area.path("area_cd").asText(), forecast);
+            }
+            compactList.add(withoutForecast(area));
+        }
+        return compactList;
+    }
+
+    // 지역 id(area_cd) 또는 지역명(area_nm)으로 조회, 없으면 null
+    public JsonNode get(String area) {
+        return forecastByArea.get(area);
+    }
+
+    public static ArrayNode withoutForecasts(JsonNode congestionList) {
+        ArrayNode compactList = NODES.arrayNode();
+        for (JsonNode area : congestionList) {
+            compactList.add(withoutForecast(area));
+        }
+        return compactList;
+    }
+
+    // 얕은 복사 (필드 값은 원본 노드 공유)
+    public static ObjectNode withoutForecast(JsonNode area) {
+        ObjectNode copy = NODES.objectNode();
+        area.fields().forEachRemaining(field -> {
+            if (!"fcst_ppltn".equals(field.getKey())) {
+                copy.set(field.getKey(), field.getValue());
+            }
+        });
+        return copy;
+    }
+}
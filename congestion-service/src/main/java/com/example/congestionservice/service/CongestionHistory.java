@@ -0,0 +1,129 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지역별 혼잡도 이력 (메모리 링 버퍼)
+ * - 푸시마다 지역별 단계 서수, 인구 min/max, 시각을 고정 크기 primitive 배열에 추가
+ * - 기본 288칸 = 5분 주기 24시간, ES 조회 없이 스파크라인 데이터 제공
+ */
+@Component
+public class CongestionHistory {
+    private static final DateTimeFormatter PPLTN_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    private final int capacity;
+    private final Map<String, Ring> ringsByArea = new ConcurrentHashMap<>();
+    // area_cd → area_nm
+    private final Map<String, String> areaNames = new ConcurrentHashMap<>();
+
+    public CongestionHistory(@Value("${congestion.history.capacity:288}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void append(JsonNode congestionList) {
+        for (JsonNode area : congestionList) {
+            String areaName = area.path("area_nm").asText();
+            if (area.hasNonNull("area_cd")) {
+                areaNames.put(area.path("area_cd").asText(), areaName);
+            }
+            ringsByArea.computeIfAbsent(areaName, key -> new Ring(capacity)).append(
+                    parseTime(area.path("ppltn_time").asText()),
+                    CongestionAlertEngine.ordinal(area.path("area_congest_lvl").asText()),
+                    area.path("area_ppltn_min").asInt(),
+                    area.path("area_ppltn_max").asInt());
+        }
+    }
+
+    /**
+     * 지역 id(area_cd) 또는 지역명(area_nm)의 이력을 열 단위 JSON 으로 반환, 없으면 null
+     * @param sinceMillis 이 시각 이후 데이터만 (0 이면 전체)
+     */
+    public ObjectNode get(String area, long sinceMillis) {
+        String areaName = areaNames.getOrDefault(area, area);
+        Ring ring = ringsByArea.get(areaName);
+        if (ring == null) {
+            return null;
+        }
+        ObjectNode result = ring.toJson(sinceMillis);
+        result.put("area_nm", areaName);
+        return result;
+    }
+
+    static long parseTime(String ppltnTime) {
+        try {
+            return LocalDateTime.parse(ppltnTime, PPLTN_TIME).atZone(SEOUL).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    private static final class Ring {
+        private final long[] times;
+        private final byte[] levels;
+        private final int[] ppltnMin;
+        private final int[] ppltnMax;
+        private int head; // 다음에 쓸 위치
+        private int size;
+
+        private Ring(int capacity) {
+            this.times = new long[capacity];
+            this.levels = new byte[capacity];
+            this.ppltnMin = new int[capacity];
+            this.ppltnMax = new int[capacity];
+        }
+
+        synchronized void append(long time, byte level, int min, int max) {
+            int last = (head - 1 + times.length) % times.length;
+            // 같은 시각 데이터가 다시 들어오면 덮어씀 (데이터 갱신 없이 폴링만 된 경우)
+            int slot = size > 0 && times[last] == time ? last : head;
+            times[slot] = time;
+            levels[slot] = level;
+            ppltnMin[slot] = min;
+            ppltnMax[slot] = max;
+            if (slot == head) {
+                head = (head + 1) % times.length;
+                size = Math.min(size + 1, times.length);
+            }
+        }
+
+        synchronized ObjectNode toJson(long sinceMillis) {
+            JsonNodeFactory nodes = JsonNodeFactory.instance;
+            ArrayNode timeArray = nodes.arrayNode();
+            ArrayNode levelArray = nodes.arrayNode();
+            ArrayNode minArray = nodes.arrayNode();
+            ArrayNode maxArray = nodes.arrayNode();
+
+            int start = (head - size + times.length) % times.length;
+            for (int i = 0; i < size; i++) {
+                int slot = (start + i) % times.length;
+                if (times[slot] < sinceMillis) {
+                    continue;
+                }
+                timeArray.add(times[slot]);
+                levelArray.add(levels[slot]);
+                minArray.add(ppltnMin[slot]);
+                maxArray.add(ppltnMax[slot]);
+            }
+
+            ObjectNode result = nodes.objectNode();
+            result.set("times", timeArray);
+            result.set("levels", levelArray);
+            result.set("ppltn_min", minArray);
+            result.set("ppltn_max", maxArray);
+            return result;
+        }
+    }
+}
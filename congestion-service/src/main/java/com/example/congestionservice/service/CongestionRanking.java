@@ -0,0 +1,99 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * "지금 가장 붐비는 곳" 순위
+ * - 혼잡 단계 → 최대 인구 → 최소 인구 내림차순으로 정렬된 TreeSet 을 푸시마다 지역별로 갱신 (지역당 O(log n))
+ * - 조회는 앞에서 N개만 읽으므로 요청마다 전체 정렬하지 않음
+ * - 푸시는 항상 전체 목록이므로 빠진 지역(수집 대상에서 제외 등)은 순위에서도 뺌
+ */
+@Component
+public class CongestionRanking {
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static final Comparator<Rank> ORDER = Comparator
+            .comparingInt(Rank::level).reversed()
+            .thenComparing(Comparator.comparingInt(Rank::ppltnMax).reversed())
+            .thenComparing(Comparator.comparingInt(Rank::ppltnMin).reversed())
+            .thenComparing(Rank::areaName);
+
+    private final TreeSet<Rank> ranks = new TreeSet<>(ORDER);
+    private final Map<String, Rank> rankByArea = new HashMap<>();
+
+    /**
+     * 푸시된 전체 목록으로 순위 갱신 (바뀐 지역만 빼고 다시 넣고, 목록에 없는 지역은 제거)
+     */
+    public synchronized void update(JsonNode congestionList) {
+        Set<String> present = new HashSet<>();
+        for (JsonNode area : congestionList) {
+            Rank rank = new Rank(
+                    area.path("area_nm").asText(),
+                    CongestionAlertEngine.ordinal(area.path("area_congest_lvl").asText()),
+                    area.path("area_ppltn_max").asInt(),
+                    area.path("area_ppltn_min").asInt(),
+                    summary(area));
+            Rank previous = rankByArea.put(rank.areaName(), rank);
+            if (previous != null) {
+                ranks.remove(previous);
+            }
+            ranks.add(rank);
+            present.add(rank.areaName());
+        }
+
+        Iterator<Map.Entry<String, Rank>> entries = rankByArea.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Rank> entry = entries.next();
+            if (!present.contains(entry.getKey())) {
+                ranks.remove(entry.getValue());
+                entries.remove();
+            }
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return ranks.isEmpty();
+    }
+
+    /**
+     * 상위 limit 개 지역 (rank 는 1부터)
+     */
+    public synchronized ArrayNode top(int limit) {
+        ArrayNode result = NODES.arrayNode();
+        int position = 0;
+        for (Rank rank : ranks) {
+            if (position == limit) {
+                break;
+            }
+            result.add(rank.summary().deepCopy().put("rank", ++position));
+        }
+        return result;
+    }
+
+    // 위젯에 필요한 필드만
+    private static ObjectNode summary(JsonNode area) {
+        ObjectNode summary = NODES.objectNode();
+        summary.set("area_nm", area.path("area_nm"));
+        summary.set("area_cd", area.path("area_cd"));
+        summary.set("area_congest_lvl", area.path("area_congest_lvl"));
+        summary.set("area_ppltn_min", area.path("area_ppltn_min"));
+        summary.set("area_ppltn_max", area.path("area_ppltn_max"));
+        summary.set("ppltn_time", area.path("ppltn_time"));
+        return summary;
+    }
+
+    private record Rank(String areaName, byte level, int ppltnMax, int ppltnMin, ObjectNode summary) {
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.congestionservice.service;
 
+import com.example.escommon.EsIndexResolver;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,28 +16,272 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CongestionService {
-    private static final RestTemplate restTemplate = new RestTemplate();
+    private static final String INDEX_PREFIX = "seoul_citydata_congestion_";
 
-    @Value("${elastic_url}")
-    private String elastic_url;
+    private static final DateTimeFormatter PPLTN_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // 하루치 지역 이력 최대 문서 수 (5분 주기 288건, 같은 시각은 collapse 로 한 건)
+    private static final int DAILY_MAX_DOCS = 1500;
+
+    private final EsIndexResolver esIndexResolver;
+    // 연결/응답 타임아웃이 걸린 공용 RestTemplate (AppConfig)
+    private final RestTemplate restTemplate;
+
+    // true 면 마지막으로 본 ppltn_time 이후 문서만 조회해서 지역별 최신값에 병합
+    @Value("${congestion.es.incremental:false}")
+    private boolean incremental;
+
+    // 증분 조회 한 번에 가져오는 문서 수
+    @Value("${congestion.es.incremental.page-size:500}")
+    private int incrementalPageSize;
+
+    // 늦게 적재되는 문서를 위해 워터마크를 최신 ppltn_time 보다 이만큼 앞으로 잡음
+    @Value("${congestion.es.incremental.lateness-minutes:10}")
+    private long latenessMinutes;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // 증분 조회 상태 (지역별 최신 혼잡도, 인덱스 날짜가 바뀌면 초기화)
+    private final Map<String, JsonNode> latestByArea = new TreeMap<>();
+    private String incrementalIndexDate;
+    // 지금까지 본 가장 최신 ppltn_time (줄어들지 않음)
+    private String maxPpltnTime;
+
+    // 마지막으로 정상 조회된 목록 (ES 오류나 빈 결과일 때 대신 반환)
+    private volatile JsonNode lastGood;
+    // 최신 시각 확인이 매핑 문제로 안 될 때 경고를 한 번만 남기기 위함
+    private final AtomicBoolean freshnessWarned = new AtomicBoolean();
 
     public JsonNode getCongestion() {
+        try {
+            JsonNode result = incremental ? getCongestionIncremental() : getCongestionAggregated();
+            if (result.isEmpty() && lastGood != null) {
+                log.warn("혼잡도 조회 결과 없음 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            if (!result.isEmpty()) {
+                lastGood = result;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (lastGood != null) {
+                log.warn("혼잡도 조회 실패 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 증분 조회
+     * - 첫 조회(또는 날짜 변경)시에는 전체 집계로 지역별 최신값을 채움
+     * - 이후에는 워터마크(본 것 중 가장 최신 ppltn_time - lateness) 이후 문서만 range + search_after 로 조회
+     *   (지역별 최솟값을 쓰면 보고를 멈춘 지역 하나 때문에 매번 하루치 문서를 다시 읽게 됨)
+     * - 정렬은 ppltn_time + area_nm, 같은 시각 문서가 페이지 경계에 걸려도 나머지를 건너뛰지 않도록 고유하게
+     */
+    public synchronized JsonNode getCongestionIncremental() {
+        String today = LocalDate.now(EsIndexResolver.ZONE).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        if (!today.equals(incrementalIndexDate) || latestByArea.isEmpty()) {
+            latestByArea.clear();
+            maxPpltnTime = null;
+            for (JsonNode congestion : getCongestionAggregated()) {
+                latestByArea.put(congestion.path("area_nm").asText(), congestion);
+                advanceWatermark(congestion.path("ppltn_time").asText());
+            }
+            incrementalIndexDate = today;
+            return mapper.valueToTree(latestByArea.values());
+        }
+
+        try {
+            String apiUrl = esIndexResolver.searchUrl(INDEX_PREFIX);
+            String watermark = watermark();
+            JsonNode searchAfter = null;
+            int merged = 0;
+
+            while (true) {
+                ObjectNode body = mapper.createObjectNode();
+                body.put("size", incrementalPageSize);
+                body.putObject("query").putObject("range")
+                        .putObject("congestion.ppltn_time").put("gte", watermark);
+                ArrayNode sort = body.putArray("sort");
+                sort.addObject().put("congestion.ppltn_time", "asc");
+                sort.addObject().put("congestion.area_nm", "asc");
+                if (searchAfter != null) {
+                    body.set("search_after", searchAfter);
+                }
+
+                JsonNode hits = search(apiUrl, mapper.writeValueAsString(body)).path("hits").path("hits");
+                for (JsonNode hit : hits) {
+                    JsonNode congestion = hit.path("_source").path("congestion");
+                    String areaName = congestion.path("area_nm").asText();
+                    String ppltnTime = congestion.path("ppltn_time").asText();
+                    JsonNode previous = latestByArea.get(areaName);
+                    // 지역별로 더 최신인 문서만 반영
+                    if (previous == null || ppltnTime.compareTo(previous.path("ppltn_time").asText()) > 0) {
+                        latestByArea.put(areaName, congestion);
+                        merged++;
+                    }
+                    advanceWatermark(ppltnTime);
+                    searchAfter = hit.path("sort");
+                }
+                if (hits.size() < incrementalPageSize) {
+                    break;
+                }
+            }
+
+            log.info("혼잡도 증분 조회 : {} 이후 {}건 반영", watermark, merged);
+            return mapper.valueToTree(latestByArea.values());
+
+        }catch (InvalidRequestException e) {
+            throw new InvalidRequestException(e.getMessage(), e);
+        }catch (Exception e){
+            log.error(String.valueOf(e));
+            throw new RuntimeException("예상치 못한 오류", e);
+        }
+    }
+
+    private void advanceWatermark(String ppltnTime) {
+        if (maxPpltnTime == null || ppltnTime.compareTo(maxPpltnTime) > 0) {
+            maxPpltnTime = ppltnTime;
+        }
+    }
+
+    // 증분 조회 하한 (가장 최신 ppltn_time - lateness, 시각 형식이 다르면 최신 시각 그대로)
+    private String watermark() {
+        try {
+            return LocalDateTime.parse(maxPpltnTime, PPLTN_TIME).minusMinutes(latenessMinutes).format(PPLTN_TIME);
+        } catch (DateTimeParseException | NullPointerException e) {
+            return maxPpltnTime;
+        }
+    }
+
+    /**
+     * 새 데이터 확인용 신호 (최신 ppltn_time + 문서 수)
+     * - 늦게 들어온 지역 문서는 최신 시각이 같아도 문서 수가 바뀌므로 같이 비교
+     */
+    public record Freshness(long latestPpltnTime, long docCount) {
+    }
+
+    /**
+     * 최신 ppltn_time (epoch ms) 과 문서 수만 조회 (size 0 + total hits + max 집계, 문서 본문 없이 값 두 개만 받음)
+     * - 새 데이터가 들어왔는지 싸게 확인하는 용도, 문서가 없거나 조회 실패면 null
+     * - max 집계는 ppltn_time 이 date 로 매핑돼 있어야 의미가 있음 (keyword 면 ES 가 거절, 숫자면 값 비교만 가능)
+     *   매핑 문제로 확인이 안 되면 한 번만 경고하고 null (호출 측은 max-interval 마다 전체 조회로 대체)
+     */
+    public Freshness getFreshness() {
+        try {
+            ObjectNode body = mapper.createObjectNode();
+            body.put("size", 0);
+            body.put("track_total_hits", true);
+            body.putObject("aggs").putObject("latest")
+                    .putObject("max").put("field", "congestion.ppltn_time");
+
+            JsonNode root = search(esIndexResolver.searchUrl(INDEX_PREFIX), mapper.writeValueAsString(body));
+            JsonNode latest = root.path("aggregations").path("latest");
+            long docCount = root.path("hits").path("total").path("value").asLong();
+            if (!latest.path("value").isNumber()) {
+                if (docCount > 0) {
+                    warnFreshnessOnce("문서 " + docCount + "건이 있는데 최신 시각 집계 값이 없음");
+                }
+                return null;
+            }
+            if (!latest.path("value_as_string").isTextual()) {
+                // date 가 아닌 숫자 필드 (값이 바뀌었는지 비교에는 여전히 쓸 수 있음)
+                warnFreshnessOnce("ppltn_time 이 date 가 아닌 숫자로 매핑됨");
+            }
+            return new Freshness(latest.path("value").asLong(), docCount);
+        } catch (HttpClientErrorException.BadRequest e) {
+            // keyword/text 매핑이면 max 집계 자체가 400
+            warnFreshnessOnce("max 집계 거절 (" + e.getStatusText() + ")");
+            return null;
+        } catch (Exception e) {
+            log.warn("혼잡도 최신 시각 조회 실패 : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void warnFreshnessOnce(String reason) {
+        if (freshnessWarned.compareAndSet(false, true)) {
+            log.warn("혼잡도 최신 시각 확인 불가 → 주기적 전체 조회로 대체 : {} (congestion.ppltn_time 매핑이 date 인지 확인)", reason);
+        }
+    }
+
+    /**
+     * 지난 날짜 인덱스(seoul_citydata_congestion_yyyyMMdd)에서 지역 하나의 하루치 혼잡도 (CongestionHistory 와 같은 열 형식)
+     * - 같은 ppltn_time 으로 여러 번 적재된 문서는 collapse 로 하나만
+     * - 해당 날짜 문서가 없으면 null, ES 오류는 그대로 던짐 (캐시하지 않도록)
+     * @param area 지역 id(area_cd) 또는 지역명(area_nm)
+     */
+    public ObjectNode getCongestionOfDay(String area, LocalDate date) throws JsonProcessingException {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("size", DAILY_MAX_DOCS);
+        ObjectNode bool = body.putObject("query").putObject("bool");
+        bool.putArray("should")
+                .add(mapper.createObjectNode().set("term", mapper.createObjectNode().put("congestion.area_cd", area)))
+                .add(mapper.createObjectNode().set("term", mapper.createObjectNode().put("congestion.area_nm", area)));
+        bool.put("minimum_should_match", 1);
+        body.putObject("collapse").put("field", "congestion.ppltn_time");
+        body.putArray("sort").addObject().put("congestion.ppltn_time", "asc");
+        body.putArray("_source").add("congestion.area_nm").add("congestion.area_congest_lvl")
+                .add("congestion.area_ppltn_min").add("congestion.area_ppltn_max").add("congestion.ppltn_time");
+
+        JsonNode hits = search(esIndexResolver.searchUrl(INDEX_PREFIX, date), mapper.writeValueAsString(body))
+                .path("hits").path("hits");
+        if (hits.isEmpty()) {
+            return null;
+        }
+
+        ArrayNode timeArray = mapper.createArrayNode();
+        ArrayNode levelArray = mapper.createArrayNode();
+        ArrayNode minArray = mapper.createArrayNode();
+        ArrayNode maxArray = mapper.createArrayNode();
+        for (JsonNode hit : hits) {
+            JsonNode congestion = hit.path("_source").path("congestion");
+            timeArray.add(CongestionHistory.parseTime(congestion.path("ppltn_time").asText()));
+            levelArray.add(CongestionAlertEngine.ordinal(congestion.path("area_congest_lvl").asText()));
+            minArray.add(congestion.path("area_ppltn_min").asInt());
+            maxArray.add(congestion.path("area_ppltn_max").asInt());
+        }
+
+        ObjectNode result = mapper.createObjectNode();
+        result.set("times", timeArray);
+        result.set("levels", levelArray);
+        result.set("ppltn_min", minArray);
+        result.set("ppltn_max", maxArray);
+        result.set("area_nm", hits.get(0).path("_source").path("congestion").path("area_nm"));
+        result.put("date", date.toString());
+        return result;
+    }
+
+    // 패키지 내부 공개 (테스트에서 ES 응답을 대신 넣음)
+    JsonNode search(String apiUrl, String jsonBody) throws JsonProcessingException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, new HttpEntity<>(jsonBody, headers), String.class);
+        return mapper.readTree(String.valueOf(response.getBody()));
+    }
+
+    // 전체 집계 (terms + top_hits) 로 지역별 최신 혼잡도 조회
+    public JsonNode getCongestionAggregated() {
         try{
-            // 오늘 날짜 구하기
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            String apiUrl = String.format(elastic_url + "/seoul_citydata_congestion_%s/_search", today);
-            // System.out.println(apiUrl);
+            // 오늘(자정 직후에는 어제 포함) 인덱스
+            String apiUrl = esIndexResolver.searchUrl(INDEX_PREFIX);
 
             // JSON Body 생성
             String jsonBody = String.format("{\n" +
@@ -76,21 +324,7 @@ public class CongestionService {
             ObjectMapper mapper = new ObjectMapper();
             JsonNode root = mapper.readTree(String.valueOf(body)); // response는 JSON 문자열
 
-            JsonNode buckets = root
-                    .path("aggregations")
-                    .path("by_area")
-                    .path("buckets");
-
-            List<JsonNode> congestionList = new ArrayList<>();
-            for (JsonNode bucket : buckets) {
-                JsonNode latestHit = bucket.path("latest_hit").path("hits").path("hits").get(0); // 첫 번째 hit 선택
-                JsonNode congestion = latestHit.path("_source").path("congestion");
-                congestionList.add(congestion);
-            }
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode result = objectMapper.valueToTree(congestionList);
-
-            return result;
+            return latestPerArea(root);
 
         }catch (InvalidRequestException e) {
             throw new InvalidRequestException(e.getMessage(), e);
@@ -99,4 +333,23 @@ public class CongestionService {
             throw new RuntimeException("예상치 못한 오류", e);
         }
     }
+
+    /**
+     * 집계 응답(by_area → latest_hit)에서 지역별 최신 congestion 문서만 추출
+     */
+    public static JsonNode latestPerArea(JsonNode root) {
+        JsonNode buckets = root
+                .path("aggregations")
+                .path("by_area")
+                .path("buckets");
+
+        List<JsonNode> congestionList = new ArrayList<>();
+        for (JsonNode bucket : buckets) {
+            JsonNode latestHit = bucket.path("latest_hit").path("hits").path("hits").get(0); // 첫 번째 hit 선택
+            JsonNode congestion = latestHit.path("_source").path("congestion");
+            congestionList.add(congestion);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        return objectMapper.valueToTree(congestionList);
+    }
 }
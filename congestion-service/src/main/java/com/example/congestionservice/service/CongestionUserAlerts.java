@@ -0,0 +1,91 @@
+package com.example.congestionservice.service;
+
+import com.example.congestionservice.sse.SseFanout;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 구독자별 개인 알림 (지역 + 기준 단계)
+ * - 규칙은 구독(스트림 연결) 단위로 SseFanout 의 지역 → 구독자 인덱스에 등록
+ * - 푸시마다 단계가 바뀐 지역만 인덱스로 규칙을 찾으므로 구독자 × 지역 전체를 훑지 않음
+ * - 직전 단계보다 올라가서 기준 단계에 처음 도달했을 때만 알림
+ */
+@Component
+@RequiredArgsConstructor
+public class CongestionUserAlerts {
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final SseFanout sseFanout;
+    // 지역(area_nm) → 직전 단계 (인스턴스마다 deliver 에서 갱신)
+    private final Map<String, Byte> previousLevels = new ConcurrentHashMap<>();
+
+    /**
+     * "지역:단계" 목록을 규칙으로 변환 (지역은 area_cd 또는 area_nm, 단계는 CROWDED 또는 붐빔 등)
+     * @throws IllegalArgumentException 형식이 잘못된 규칙
+     */
+    public static Map<String, Byte> parseRules(Iterable<String> rules) {
+        Map<String, Byte> parsed = new LinkedHashMap<>();
+        for (String rule : rules) {
+            int separator = rule.lastIndexOf(':');
+            if (separator <= 0 || separator == rule.length() - 1) {
+                throw new IllegalArgumentException("잘못된 알림 규칙: " + rule);
+            }
+            parsed.put(rule.substring(0, separator).trim(), CongestionAlertEngine.parseLevel(rule.substring(separator + 1)));
+        }
+        return parsed;
+    }
+
+    /**
+     * 새 혼잡도 목록으로 단계가 바뀐 지역의 규칙만 판단해서 구독자별 알림 목록 반환 (fcst_ppltn 제외)
+     */
+    public synchronized Map<SseFanout.Subscriber, ArrayNode> evaluate(JsonNode congestionList) {
+        Map<SseFanout.Subscriber, ArrayNode> alerts = new HashMap<>();
+        for (JsonNode area : congestionList) {
+            byte current = CongestionAlertEngine.ordinal(area.path("area_congest_lvl").asText());
+            if (current == CongestionAlertEngine.UNKNOWN) {
+                continue;
+            }
+            Byte previous = previousLevels.put(area.path("area_nm").asText(), current);
+            if (previous == null || current <= previous) {
+                continue; // 첫 조회이거나 단계가 오르지 않음
+            }
+
+            String areaCd = area.path("area_cd").asText();
+            String areaNm = area.path("area_nm").asText();
+            for (SseFanout.Subscriber subscriber : sseFanout.ruleSubscribersOf(areaCd, areaNm)) {
+                Byte threshold = subscriber.alertThreshold(areaCd, areaNm);
+                if (threshold != null && previous < threshold && current >= threshold) {
+                    alerts.computeIfAbsent(subscriber, key -> NODES.arrayNode())
+                            .add(CongestionForecastCache.withoutForecast(area));
+                }
+            }
+        }
+        return alerts;
+    }
+
+    /**
+     * 신규 구독자용 현재 알림 목록 (이미 기준 단계 이상인 규칙 지역)
+     */
+    public ArrayNode current(SseFanout.Subscriber subscriber, JsonNode congestionList) {
+        ArrayNode alertList = NODES.arrayNode();
+        if (subscriber.getAlertRules().isEmpty()) {
+            return alertList;
+        }
+        for (JsonNode area : congestionList) {
+            Byte threshold = subscriber.alertThreshold(area.path("area_cd").asText(), area.path("area_nm").asText());
+            if (threshold != null
+                    && CongestionAlertEngine.ordinal(area.path("area_congest_lvl").asText()) >= threshold) {
+                alertList.add(CongestionForecastCache.withoutForecast(area));
+            }
+        }
+        return alertList;
+    }
+}
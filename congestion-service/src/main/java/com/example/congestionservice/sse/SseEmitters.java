@@ -0,0 +1,23 @@
+package com.example.congestionservice.sse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public final class SseEmitters {
+
+    private SseEmitters() {
+    }
+
+    /**
+     * 연결 수 초과 응답 (503 + Retry-After, 본문 없음)
+     * - EventSource 는 200 이 아닌 응답이면 본문의 retry: 를 읽지 않고 자동 재접속도 하지 않음 (readyState 가 CLOSED)
+     * - 그래서 클라이언트가 onerror 에서 직접 기다렸다가 새 EventSource 를 만들어야 함
+     *   (EventSource 는 상태 코드/헤더를 볼 수 없으므로 자체 backoff, fetch 기반 클라이언트는 Retry-After 사용)
+     */
+    public static <T> ResponseEntity<T> unavailable(long retryMs) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryMs / 1000)))
+                .build();
+    }
+}
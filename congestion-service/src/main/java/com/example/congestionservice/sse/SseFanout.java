@@ -0,0 +1,420 @@
+package com.example.congestionservice.sse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * SSE 팬아웃 엔진
+ * - 구독자마다 크기가 제한된 outbox 를 두고, 실제 소켓 쓰기는 writer 풀에서 수행
+ * - 스케줄러 스레드는 outbox 에 프레임만 넣고 바로 반환 (느린 클라이언트가 다른 클라이언트를 막지 않음)
+ * - outbox 가 가득 찼거나 쓰기가 write-timeout 을 넘긴 구독자는 강제 종료(evict)
+ * - 소켓 쓰기 자체는 Tomcat 연결 타임아웃(server.tomcat.connection-timeout, 미설정 시 Tomcat 기본 60초)으로 끝나고,
+ *   그동안 막힌 writer 수만큼 풀을 늘려서 느린 클라이언트가 writer 를 모두 붙잡아도 다른 구독자 전송은 계속됨
+ * - heartbeat 주석 프레임을 주기적으로 보내서 끊긴 연결을 다음 푸시 전에 발견
+ */
+@Component
+@Slf4j
+public class SseFanout {
+    private static final SseFrame HEARTBEAT = SseFrame.comment("heartbeat");
+    private static final SseFrame CBOR_HEARTBEAT = SseFrame.cborComment("heartbeat");
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // 지역(area_cd 또는 area_nm) → 해당 지역만 구독한 구독자
+    private final Map<String, Set<Subscriber>> subscribersByArea = new ConcurrentHashMap<>();
+    // 지역(area_cd 또는 area_nm) → 해당 지역에 개인 알림 규칙을 건 구독자
+    private final Map<String, Set<Subscriber>> ruleSubscribersByArea = new ConcurrentHashMap<>();
+    // 소켓 쓰기 중인 구독자 (evict 된 뒤에도 쓰기가 끝날 때까지 남음)
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor writers;
+    private final int writerThreads;
+    private final int outboxCapacity;
+    private final long writeTimeoutMs;
+    private final int maxConnections;
+
+    @Getter
+    private final AtomicLong evictedCount = new AtomicLong();
+    @Getter
+    private final AtomicLong droppedCount = new AtomicLong();
+    @Getter
+    private final SseMetrics metrics;
+
+    public SseFanout(@Value("${congestion.sse.writer-threads:16}") int writerThreads,
+                     @Value("${congestion.sse.outbox-capacity:8}") int outboxCapacity,
+                     @Value("${congestion.sse.write-timeout-ms:10000}") long writeTimeoutMs,
+                     @Value("${congestion.sse.max-connections:10000}") int maxConnections,
+                     MeterRegistry meterRegistry) {
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-writer-"));
+        this.writerThreads = writerThreads;
+        this.outboxCapacity = outboxCapacity;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.maxConnections = maxConnections;
+        this.metrics = new SseMetrics(meterRegistry, "congestion", subscribers);
+
+        FunctionCounter.builder("congestion.sse.evicted", evictedCount, AtomicLong::get)
+                .description("느린 클라이언트 강제 종료 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("congestion.sse.dropped", droppedCount, AtomicLong::get)
+                .description("outbox 초과로 버려진 프레임 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * emitter 등록, 종료/타임아웃/오류 시 자동 해제
+     */
+    public Subscriber register(ResponseBodyEmitter emitter) {
+        return register(emitter, false, true, Set.of());
+    }
+
+    public Subscriber register(ResponseBodyEmitter emitter, boolean delta, boolean forecast, Set<String> areas) {
+        return register(emitter, delta, forecast, areas, false);
+    }
+
+    /**
+     * @param delta true 면 변경분(delta) 구독자
+     * @param forecast false 면 인구 예측(fcst_ppltn)을 뺀 목록 구독자
+     * @param areas 구독할 지역(area_cd 또는 area_nm), 비어 있으면 전체 지역
+     * @param cbor true 면 SSE 텍스트 대신 CBOR 프레임을 받는 바이너리 구독자
+     */
+    public Subscriber register(ResponseBodyEmitter emitter, boolean delta, boolean forecast, Set<String> areas, boolean cbor) {
+        return register(emitter, delta, forecast, areas, cbor, Map.of());
+    }
+
+    /**
+     * @param alertRules 개인 알림 규칙, 지역(area_cd 또는 area_nm) → 알림 기준 단계 서수 (0:여유 ~ 3:붐빔)
+     */
+    public Subscriber register(ResponseBodyEmitter emitter, boolean delta, boolean forecast, Set<String> areas, boolean cbor,
+                               Map<String, Byte> alertRules) {
+        Subscriber subscriber = new Subscriber(emitter, outboxCapacity, delta, forecast, areas, cbor, alertRules);
+        subscribers.add(subscriber);
+        for (String area : subscriber.areas) {
+            subscribersByArea.computeIfAbsent(area, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        for (String area : subscriber.alertRules.keySet()) {
+            ruleSubscribersByArea.computeIfAbsent(area, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        emitter.onCompletion(() -> {
+            metrics.completed();
+            remove(subscriber);
+        });
+        emitter.onTimeout(() -> {
+            metrics.timedOut();
+            remove(subscriber);
+        });
+        emitter.onError((e) -> {
+            metrics.failed();
+            remove(subscriber);
+        });
+        return subscriber;
+    }
+
+    public void remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            unregister(subscriber);
+        }
+    }
+
+    /**
+     * 주어진 지역 키 중 하나라도 구독한 구독자 (지역 필터가 없는 구독자는 제외)
+     */
+    public Set<Subscriber> subscribersOf(String... areaKeys) {
+        return lookup(subscribersByArea, areaKeys);
+    }
+
+    /**
+     * 주어진 지역 키 중 하나라도 개인 알림 규칙을 건 구독자
+     */
+    public Set<Subscriber> ruleSubscribersOf(String... areaKeys) {
+        return lookup(ruleSubscribersByArea, areaKeys);
+    }
+
+    private static Set<Subscriber> lookup(Map<String, Set<Subscriber>> index, String... areaKeys) {
+        Set<Subscriber> result = new HashSet<>();
+        for (String key : areaKeys) {
+            Set<Subscriber> found = index.get(key);
+            if (found != null) {
+                result.addAll(found);
+            }
+        }
+        return result;
+    }
+
+    // 모든 구독자에게 전송
+    public void broadcast(SseFrame frame) {
+        for (Subscriber subscriber : subscribers) {
+            send(subscriber, frame);
+        }
+    }
+
+    // 조건에 맞는 구독자에게만 전송
+    public void broadcast(SseFrame frame, Predicate<Subscriber> filter) {
+        for (Subscriber subscriber : subscribers) {
+            if (filter.test(subscriber)) {
+                send(subscriber, frame);
+            }
+        }
+    }
+
+    public boolean hasSubscribers(Predicate<Subscriber> filter) {
+        for (Subscriber subscriber : subscribers) {
+            if (filter.test(subscriber)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 특정 구독자에게 전송 (outbox 에 넣고 바로 반환)
+    public void send(Subscriber subscriber, SseFrame frame) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.outbox.offer(frame)) {
+            droppedCount.incrementAndGet();
+            evict(subscriber, "outbox 초과");
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    public int size() {
+        return subscribers.size();
+    }
+
+    // 최대 연결 수 도달 여부 (신규 구독은 503 으로 거절)
+    public boolean isFull() {
+        return subscribers.size() >= maxConnections;
+    }
+
+    // 보낼 프레임이 없는 구독자에게만 heartbeat (쓰기 실패나 write-timeout 으로 끊긴 연결 정리)
+    @Scheduled(fixedDelayString = "${congestion.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.outbox.isEmpty()) {
+                send(subscriber, subscriber.cbor ? CBOR_HEARTBEAT : HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * 쓰기가 write-timeout 을 넘긴 구독자 정리
+     * - evict 는 emitter 만 닫을 뿐 이미 소켓 쓰기에 들어간 writer 를 풀지 못함 (쓰기는 Tomcat 연결 타임아웃으로 끝남)
+     * - 그래서 아직 쓰기 중인 구독자 수만큼 writer 를 임시로 늘림 (최대 writer-threads 만큼 추가)
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void evictStalled() {
+        long now = System.currentTimeMillis();
+        int stalled = 0;
+        for (Subscriber subscriber : stalledCandidates()) {
+            long startedAt = subscriber.writeStartedAt;
+            if (startedAt != 0 && now - startedAt > writeTimeoutMs) {
+                stalled++;
+                evict(subscriber, "쓰기 타임아웃");
+            }
+        }
+        resizeWriters(writerThreads + Math.min(stalled, writerThreads));
+    }
+
+    // 등록된 구독자 + evict 됐지만 writer 가 아직 쓰기 중인 구독자
+    private Set<Subscriber> stalledCandidates() {
+        Set<Subscriber> candidates = new HashSet<>(subscribers);
+        candidates.addAll(writing);
+        return candidates;
+    }
+
+    private void resizeWriters(int size) {
+        if (size > writers.getMaximumPoolSize()) {
+            writers.setMaximumPoolSize(size);
+            writers.setCorePoolSize(size);
+        } else if (size < writers.getCorePoolSize()) {
+            writers.setCorePoolSize(size);
+            writers.setMaximumPoolSize(size);
+        }
+    }
+
+    public int getWriterPoolSize() {
+        return writers.getCorePoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return; // 이미 writer 가 비우는 중
+        }
+        try {
+            writers.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            remove(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseFrame frame;
+            while (!subscriber.closed.get() && (frame = subscriber.outbox.poll()) != null) {
+                subscriber.writeStartedAt = System.currentTimeMillis();
+                writing.add(subscriber);
+                long startNanos = System.nanoTime();
+                try {
+                    frame.writeTo(subscriber.emitter);
+                    metrics.recordSend(startNanos, frame.size());
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscriber);
+                    completeQuietly(subscriber.emitter, e);
+                    return;
+                } finally {
+                    subscriber.writeStartedAt = 0;
+                    writing.remove(subscriber);
+                }
+            }
+            if (subscriber.evicted) {
+                // 쓰기 도중 evict 된 경우 여기서 종료
+                completeQuietly(subscriber.emitter, null);
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // 비우는 사이 새로 들어온 프레임 처리
+        if (!subscriber.closed.get() && !subscriber.outbox.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        unregister(subscriber);
+        subscriber.evicted = true;
+        evictedCount.incrementAndGet();
+        log.warn("SSE 구독자 강제 종료 ({})", reason);
+
+        // 쓰기 중이면 writer 스레드가 쓰기를 마친 뒤 종료 (emitter 잠금 대기 방지)
+        if (subscriber.writeStartedAt == 0) {
+            completeQuietly(subscriber.emitter, null);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        unindex(subscribersByArea, subscriber.areas, subscriber);
+        unindex(ruleSubscribersByArea, subscriber.alertRules.keySet(), subscriber);
+        subscriber.outbox.clear();
+    }
+
+    private static void unindex(Map<String, Set<Subscriber>> index, Set<String> areaKeys, Subscriber subscriber) {
+        for (String area : areaKeys) {
+            index.computeIfPresent(area, (key, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static void completeQuietly(ResponseBodyEmitter emitter, Throwable cause) {
+        try {
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        } catch (Exception ignored) {
+            // 이미 종료된 연결
+        }
+    }
+
+    public static final class Subscriber {
+        private final ResponseBodyEmitter emitter;
+        private final boolean delta;
+        private final boolean forecast;
+        private final boolean cbor;
+        private final Set<String> areas;
+        private final Map<String, Byte> alertRules;
+        private final BlockingQueue<SseFrame> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long writeStartedAt;
+        private volatile boolean evicted;
+
+        private Subscriber(ResponseBodyEmitter emitter, int outboxCapacity, boolean delta, boolean forecast,
+                           Set<String> areas, boolean cbor, Map<String, Byte> alertRules) {
+            this.emitter = emitter;
+            this.delta = delta;
+            this.forecast = forecast;
+            this.cbor = cbor;
+            this.areas = Set.copyOf(areas);
+            this.alertRules = Map.copyOf(alertRules);
+            this.outbox = new ArrayBlockingQueue<>(outboxCapacity);
+        }
+
+        public ResponseBodyEmitter getEmitter() {
+            return emitter;
+        }
+
+        public boolean isDelta() {
+            return delta;
+        }
+
+        public boolean isForecast() {
+            return forecast;
+        }
+
+        public boolean isCbor() {
+            return cbor;
+        }
+
+        public Set<String> getAreas() {
+            return areas;
+        }
+
+        public Map<String, Byte> getAlertRules() {
+            return alertRules;
+        }
+
+        // 주어진 지역 키(area_cd, area_nm)에 건 알림 기준 단계, 없으면 null
+        public Byte alertThreshold(String... areaKeys) {
+            for (String key : areaKeys) {
+                Byte threshold = alertRules.get(key);
+                if (threshold != null) {
+                    return threshold;
+                }
+            }
+            return null;
+        }
+
+        // 지역 필터 구독 여부
+        public boolean isFiltered() {
+            return !areas.isEmpty();
+        }
+    }
+}
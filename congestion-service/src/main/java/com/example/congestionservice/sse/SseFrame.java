@@ -0,0 +1,105 @@
+package com.example.congestionservice.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 미리 인코딩된 SSE 프레임
+ * - 푸시 주기마다 한 번만 직렬화하고, 같은 바이트 버퍼를 모든 emitter 에 그대로 씀
+ * - 불변 객체라 여러 스레드에서 공유해도 안전
+ * - cbor(...) 는 같은 이벤트를 CBOR 맵 {id, event, data} 하나로 인코딩 (바이너리 스트림용, 프레임을 이어 붙이면 CBOR Sequence)
+ */
+public final class SseFrame {
+    private static final ObjectMapper CBOR = new CBORMapper();
+
+    private final String name;
+    private final byte[] bytes;
+    private final Set<DataWithMediaType> items;
+
+    private SseFrame(String name, byte[] bytes) {
+        this.name = name;
+        this.bytes = bytes;
+        // byte[] 는 ByteArrayHttpMessageConverter 가 그대로 출력 (재직렬화 없음)
+        this.items = Set.of(new DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+    }
+
+    /**
+     * event:{name}\ndata:{json}\n\n 형태로 인코딩
+     */
+    public static SseFrame of(String name, Object data, ObjectMapper mapper) throws JsonProcessingException {
+        return of(null, name, data, mapper);
+    }
+
+    /**
+     * id:{id}\nevent:{name}\ndata:{json}\n\n 형태로 인코딩 (id 가 null 이면 생략)
+     */
+    public static SseFrame of(String id, String name, Object data, ObjectMapper mapper) throws JsonProcessingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (id != null) {
+            out.writeBytes(("id:" + id + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        out.writeBytes(("event:" + name + "\ndata:").getBytes(StandardCharsets.UTF_8));
+        // Jackson 기본 출력은 한 줄이므로 data 라인 하나로 충분
+        out.writeBytes(mapper.writeValueAsBytes(data));
+        out.writeBytes("\n\n".getBytes(StandardCharsets.UTF_8));
+        return new SseFrame(name, out.toByteArray());
+    }
+
+    /**
+     * :{comment}\n\n 형태의 주석 프레임 (클라이언트 EventSource 는 무시, 연결 확인용)
+     */
+    public static SseFrame comment(String comment) {
+        return new SseFrame(null, (":" + comment + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {id, event, data} CBOR 맵으로 인코딩 (id 가 null 이면 생략), data 스키마는 JSON 과 동일
+     */
+    public static SseFrame cbor(String id, String name, Object data) throws JsonProcessingException {
+        Map<String, Object> event = new LinkedHashMap<>();
+        if (id != null) {
+            event.put("id", id);
+        }
+        event.put("event", name);
+        event.put("data", data);
+        return new SseFrame(name, CBOR.writeValueAsBytes(event));
+    }
+
+    /**
+     * {comment} CBOR 맵 (바이너리 스트림의 연결 확인용)
+     */
+    public static SseFrame cborComment(String comment) {
+        try {
+            return new SseFrame(null, CBOR.writeValueAsBytes(Map.of("comment", comment)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void writeTo(ResponseBodyEmitter emitter) throws IOException {
+        emitter.send(items);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+}
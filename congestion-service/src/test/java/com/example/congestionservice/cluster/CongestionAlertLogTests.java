@@ -0,0 +1,112 @@
+package com.example.congestionservice.cluster;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CongestionAlertLogTests {
+    private static final int MAX_REPLAY = 3;
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> stream = mock(StreamOperations.class);
+    // 스트림에 남아 있는 항목 (id 오름차순)
+    private final List<MapRecord<String, Object, Object>> entries = new ArrayList<>();
+
+    private CongestionAlertLog alertLog;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.<Object, Object>opsForStream()).willReturn(stream);
+        // XRANGE 흉내 (하한 exclusive, COUNT 적용)
+        given(stream.range(eq(CongestionAlertLog.STREAM_KEY), any(), any(Limit.class))).willAnswer(invocation -> {
+            Range<String> range = invocation.getArgument(1);
+            Limit limit = invocation.getArgument(2);
+            List<MapRecord<String, Object, Object>> result = new ArrayList<>();
+            for (MapRecord<String, Object, Object> entry : entries) {
+                boolean after = range.getLowerBound().getValue()
+                        .map(lower -> compare(entry.getId(), RecordId.of(lower)) > 0)
+                        .orElse(true);
+                if (after && result.size() < limit.getCount()) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        });
+        alertLog = new CongestionAlertLog(redisTemplate, 2000, MAX_REPLAY);
+    }
+
+    @Test
+    void replaysBatchesAfterLastId() {
+        add("1000-0", "강남역");
+        add("2000-0", "서울역");
+        add("3000-0", "홍대입구역");
+
+        ArrayNode alerts = alertLog.since("1000-0");
+
+        assertThat(alerts).hasSize(2);
+        assertThat(alerts.get(0).path("area_nm").asText()).isEqualTo("서울역");
+        assertThat(alerts.get(1).path("area_nm").asText()).isEqualTo("홍대입구역");
+    }
+
+    @Test
+    void upToDateClientGetsEmptyList() {
+        add("1000-0", "강남역");
+
+        assertThat(alertLog.since("1000-0")).isEmpty();
+    }
+
+    @Test
+    void trimmedIdFallsBackToCurrentAlerts() {
+        // 500-0 이후 항목 일부가 MAXLEN 으로 잘려나간 상태
+        add("2000-0", "서울역");
+        add("3000-0", "홍대입구역");
+
+        assertThat(alertLog.since("500-0")).isNull();
+    }
+
+    @Test
+    void moreThanMaxReplayFallsBackToCurrentAlerts() {
+        add("1000-0", "강남역");
+        for (int i = 1; i <= MAX_REPLAY + 1; i++) {
+            add((1000 + i) + "-0", "서울역");
+        }
+
+        assertThat(alertLog.since("1000-0")).isNull();
+    }
+
+    @Test
+    void invalidOrMissingStreamReturnsNull() {
+        assertThat(alertLog.since("not-an-id")).isNull();
+        assertThat(alertLog.since("1000-0")).isNull(); // 스트림이 비어 있음
+    }
+
+    private void add(String id, String areaName) {
+        Map<Object, Object> value = Map.of("alerts", "[{\"area_nm\":\"" + areaName + "\"}]");
+        entries.add(StreamRecords.<String, Object, Object>mapBacked(value)
+                .withStreamKey(CongestionAlertLog.STREAM_KEY)
+                .withId(RecordId.of(id)));
+    }
+
+    private static int compare(RecordId a, RecordId b) {
+        int compare = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return compare != 0 ? compare : Long.compare(a.getSequence(), b.getSequence());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.congestionservice.config;
+
+import com.example.congestionservice.service.CongestionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CongestionSnapshotCacheTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final CongestionService congestionService = mock(CongestionService.class);
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CongestionSnapshotCache cache = cache(60_000);
+        JsonNode congestionList = mapper.createArrayNode().add("강남역");
+        CountDownLatch release = new CountDownLatch(1);
+        given(congestionService.getCongestion()).willAnswer(invocation -> {
+            release.await(2, TimeUnit.SECONDS);
+            return congestionList;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonNode>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(cache::get));
+            }
+            Thread.sleep(100); // 모든 스레드가 캐시 미스로 대기
+            release.countDown();
+            for (Future<JsonNode> result : results) {
+                assertThat(result.get(2, TimeUnit.SECONDS)).isSameAs(congestionList);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(congestionService, times(1)).getCongestion();
+    }
+
+    @Test
+    void freshSnapshotIsServedFromCacheAndStaleOneReloads() {
+        given(congestionService.getCongestion()).willReturn(mapper.createArrayNode());
+
+        CongestionSnapshotCache fresh = cache(60_000);
+        fresh.get();
+        fresh.get();
+        verify(congestionService, times(1)).getCongestion();
+
+        CongestionSnapshotCache stale = cache(-1);
+        stale.get();
+        stale.get();
+        verify(congestionService, times(3)).getCongestion();
+    }
+
+    @Test
+    void failedLoadIsRetriedOnNextCall() {
+        JsonNode congestionList = mapper.createArrayNode();
+        given(congestionService.getCongestion())
+                .willThrow(new RuntimeException("ES 오류"))
+                .willReturn(congestionList);
+        CongestionSnapshotCache cache = cache(60_000);
+
+        assertThatThrownBy(cache::get).hasMessage("ES 오류");
+        assertThat(cache.get()).isSameAs(congestionList);
+    }
+
+    @Test
+    void updateReplacesSnapshotWithoutLoading() {
+        CongestionSnapshotCache cache = cache(60_000);
+        JsonNode congestionList = mapper.createArrayNode();
+        cache.update(congestionList);
+
+        assertThat(cache.get()).isSameAs(congestionList);
+        verify(congestionService, times(0)).getCongestion();
+    }
+
+    @Test
+    void encodedIsNullBeforeFirstSnapshot() {
+        assertThat(cache(60_000).encoded()).isNull();
+        verify(congestionService, times(0)).getCongestion();
+    }
+
+    @Test
+    void encodedIsReusedUntilSnapshotChanges() throws Exception {
+        CongestionSnapshotCache cache = cache(60_000);
+        JsonNode congestionList = mapper.createArrayNode().add(mapper.createObjectNode().put("area_nm", "강남역"));
+        cache.update(congestionList);
+
+        CongestionSnapshotCache.Encoded first = cache.encoded();
+        assertThat(cache.encoded()).isSameAs(first); // 같은 스냅샷은 다시 직렬화하지 않음
+        assertThat(mapper.readTree(first.json())).isEqualTo(congestionList);
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+
+        // 내용이 같은 새 스냅샷 → 새로 인코딩하지만 ETag 는 같음 (인스턴스 간에도 같은 값)
+        cache.update(congestionList.deepCopy());
+        CongestionSnapshotCache.Encoded same = cache.encoded();
+        assertThat(same).isNotSameAs(first);
+        assertThat(same.etag()).isEqualTo(first.etag());
+
+        // 내용이 바뀌면 ETag 도 바뀜
+        cache.update(mapper.createArrayNode().add(mapper.createObjectNode().put("area_nm", "서울역")));
+        assertThat(cache.encoded().etag()).isNotEqualTo(first.etag());
+    }
+
+    private CongestionSnapshotCache cache(long maxStalenessMs) {
+        CongestionSnapshotCache cache = new CongestionSnapshotCache(congestionService);
+        ReflectionTestUtils.setField(cache, "maxStalenessMs", maxStalenessMs);
+        return cache;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.cluster.CongestionAlertLog;
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.example.congestionservice.service.CongestionDeltaLog;
+import com.example.congestionservice.service.CongestionForecastCache;
+import com.example.congestionservice.service.CongestionUserAlerts;
+import com.example.congestionservice.sse.SseFanout;
+import com.example.congestionservice.sse.SseFrame;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class CongestionControllerTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final CongestionDeltaLog deltaLog = new CongestionDeltaLog(2);
+    private final CongestionSnapshotCache snapshotCache = mock(CongestionSnapshotCache.class);
+    private SseFanout sseFanout;
+    private CongestionController controller;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // 실제 소켓 쓰기 대신 보낸 프레임만 기록
+        sseFanout = spy(new SseFanout(1, 8, 10_000, 100, new SimpleMeterRegistry()));
+        doNothing().when(sseFanout).send(any(), any());
+
+        ObjectProvider<CongestionAlertLog> alertLogProvider = mock(ObjectProvider.class);
+        controller = new CongestionController(sseFanout, new CongestionAlertEngine(List.of("ANY:CROWDED")),
+                snapshotCache, deltaLog, new CongestionForecastCache(), mock(CongestionUserAlerts.class),
+                alertLogProvider);
+        ReflectionTestUtils.setField(controller, "emitterTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(controller, "retryMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sseFanout.shutdown();
+    }
+
+    @Test
+    void deltaResumeSendsOnlyMissedChanges() throws Exception {
+        long firstId = deltaLog.record(list(area("강남역", "보통"), area("서울역", "보통"))).id();
+        deltaLog.record(list(area("강남역", "붐빔"), area("서울역", "보통")));
+        given(snapshotCache.get()).willReturn(list(area("강남역", "붐빔"), area("서울역", "보통")));
+
+        controller.streamCongestion(true, true, null, String.valueOf(firstId), null);
+
+        List<String> frames = sentFrames();
+        assertThat(frames.get(0)).startsWith("id:" + deltaLog.lastId() + "\nevent:congestion-update\n");
+        JsonNode update = data(frames.get(0));
+        assertThat(update).hasSize(1);
+        assertThat(update.get(0).path("area_nm").asText()).isEqualTo("강남역");
+    }
+
+    @Test
+    void unknownEventIdFallsBackToFullList() throws Exception {
+        deltaLog.record(list(area("강남역", "보통"), area("서울역", "보통")));
+        deltaLog.record(list(area("강남역", "붐빔"), area("서울역", "보통")));
+        deltaLog.record(list(area("강남역", "붐빔"), area("서울역", "붐빔")));
+
+        // 링(2칸) 밖의 오래된 id, 숫자가 아닌 id → 전체 목록
+        controller.streamCongestion(true, true, null, "1", null);
+        controller.streamCongestion(true, true, null, "not-an-id", null);
+
+        List<String> frames = sentFrames();
+        assertThat(data(frames.get(0))).hasSize(2);
+        assertThat(data(frames.get(2))).hasSize(2);
+    }
+
+    @Test
+    void nonDeltaIgnoresLastEventId() throws Exception {
+        long firstId = deltaLog.record(list(area("강남역", "보통"), area("서울역", "보통"))).id();
+        deltaLog.record(list(area("강남역", "붐빔"), area("서울역", "보통")));
+
+        controller.streamCongestion(false, true, null, String.valueOf(firstId), null);
+
+        assertThat(data(sentFrames().get(0))).hasSize(2);
+    }
+
+    @Test
+    void fullFanoutAnswers503WithRetryAfterAndNoBody() {
+        doReturn(true).when(sseFanout).isFull();
+
+        // EventSource 는 200 이 아닌 응답의 retry: 를 무시하므로 헤더만 보냄
+        ResponseEntity<SseEmitter> sse = controller.streamCongestion(false, true, null, null, null);
+        assertThat(sse.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(sse.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(sse.getBody()).isNull();
+
+        ResponseEntity<ResponseBodyEmitter> cbor = controller.streamCongestionCbor(false, true, null, null, null);
+        assertThat(cbor.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(cbor.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+
+        assertThat(sseFanout.size()).isZero();
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() {
+        ReflectionTestUtils.setField(controller, "retryMs", 200L);
+        doReturn(true).when(sseFanout).isFull();
+
+        assertThat(controller.streamCongestion(false, true, null, null, null)
+                .getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void sendToClientsRecordsDelta() {
+        controller.sendToClients(list(area("강남역", "보통")));
+        long id = deltaLog.lastId();
+        controller.sendToClients(list(area("강남역", "보통")));
+
+        // 바뀐 지역이 없으면 변경분도 비어 있음
+        assertThat(deltaLog.since(id).list()).isEmpty();
+    }
+
+    private List<String> sentFrames() {
+        ArgumentCaptor<SseFrame> frames = ArgumentCaptor.forClass(SseFrame.class);
+        verify(sseFanout, atLeastOnce()).send(any(), frames.capture());
+        List<String> texts = new ArrayList<>();
+        frames.getAllValues().forEach(frame -> texts.add(new String(frame.getBytes(), StandardCharsets.UTF_8)));
+        return texts;
+    }
+
+    private static JsonNode data(String frame) throws Exception {
+        String data = frame.substring(frame.indexOf("data:") + "data:".length()).trim();
+        return mapper.readTree(data);
+    }
+
+    private static JsonNode area(String areaName, String level) {
+        return mapper.createObjectNode().put("area_nm", areaName).put("area_congest_lvl", level);
+    }
+
+    private static ArrayNode list(JsonNode... areas) {
+        ArrayNode list = mapper.createArrayNode();
+        for (JsonNode area : areas) {
+            list.add(area);
+        }
+        return list;
+    }
+}
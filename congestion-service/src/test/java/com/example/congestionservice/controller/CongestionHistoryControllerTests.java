@@ -0,0 +1,102 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.service.CongestionDailyArchive;
+import com.example.congestionservice.service.CongestionHistory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CongestionHistoryControllerTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final DateTimeFormatter PPLTN_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final CongestionHistory history = new CongestionHistory(10);
+    private final CongestionDailyArchive dailyArchive = mock(CongestionDailyArchive.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CongestionHistoryController(history, dailyArchive)).build();
+    }
+
+    @Test
+    void historyIsLimitedToRecentHours() throws Exception {
+        append(hoursAgo(30), "보통");
+        append(hoursAgo(1), "붐빔");
+
+        // 기본 24시간 → 30시간 전 데이터 제외
+        mockMvc.perform(get("/main/congestion/history/POI001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.area_nm").value("강남역"))
+                .andExpect(jsonPath("$.levels.length()").value(1))
+                .andExpect(jsonPath("$.levels[0]").value(3));
+
+        mockMvc.perform(get("/main/congestion/history/강남역").param("hours", "48"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.levels.length()").value(2));
+    }
+
+    @Test
+    void unknownAreaIsNotFound() throws Exception {
+        mockMvc.perform(get("/main/congestion/history/POI999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pastDayIsImmutable() throws Exception {
+        given(dailyArchive.get("강남역", LocalDate.of(2024, 4, 30)))
+                .willReturn(mapper.createObjectNode().put("area_nm", "강남역"));
+
+        mockMvc.perform(get("/main/congestion/history/강남역/20240430"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                .andExpect(jsonPath("$.area_nm").value("강남역"));
+    }
+
+    @Test
+    void unsealedOrMissingDayIsRejected() throws Exception {
+        // 아직 마감되지 않은 날짜 → 400
+        given(dailyArchive.get(anyString(), any())).willThrow(new IllegalArgumentException("마감되지 않은 날짜"));
+        mockMvc.perform(get("/main/congestion/history/강남역/20240501"))
+                .andExpect(status().isBadRequest());
+
+        // 해당 날짜 문서 없음 → 404
+        given(dailyArchive.get(anyString(), any())).willReturn(null);
+        mockMvc.perform(get("/main/congestion/history/강남역/20240430"))
+                .andExpect(status().isNotFound());
+
+        // 날짜 형식 오류 → 400
+        mockMvc.perform(get("/main/congestion/history/강남역/2024-04-30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void append(String ppltnTime, String level) {
+        history.append(mapper.createArrayNode().add(mapper.createObjectNode()
+                .put("area_nm", "강남역").put("area_cd", "POI001")
+                .put("ppltn_time", ppltnTime).put("area_congest_lvl", level)
+                .put("area_ppltn_min", 100).put("area_ppltn_max", 200)));
+    }
+
+    private static String hoursAgo(int hours) {
+        return LocalDateTime.now(ZoneId.of("Asia/Seoul")).minusHours(hours).format(PPLTN_TIME);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.congestionservice.controller;
+
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.service.CongestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CongestionSnapshotControllerTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private CongestionSnapshotCache cache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CongestionSnapshotCache(mock(CongestionService.class));
+        ReflectionTestUtils.setField(cache, "maxStalenessMs", 60_000L);
+        CongestionSnapshotController controller = new CongestionSnapshotController(cache);
+        ReflectionTestUtils.setField(controller, "retryMs", 5000L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void returnsSnapshotWithEtagAndNotModifiedOnMatch() throws Exception {
+        cache.update(mapper.createArrayNode().add(mapper.createObjectNode().put("area_nm", "강남역")));
+        String etag = cache.encoded().etag();
+
+        mockMvc.perform(get("/main/congestion/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().json("[{\"area_nm\":\"강남역\"}]"));
+
+        mockMvc.perform(get("/main/congestion/snapshot").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void changedSnapshotIsSentAgain() throws Exception {
+        cache.update(mapper.createArrayNode().add(mapper.createObjectNode().put("area_nm", "강남역")));
+        String oldEtag = cache.encoded().etag();
+        cache.update(mapper.createArrayNode().add(mapper.createObjectNode().put("area_nm", "서울역")));
+
+        mockMvc.perform(get("/main/congestion/snapshot").header(HttpHeaders.IF_NONE_MATCH, oldEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, cache.encoded().etag()))
+                .andExpect(content().json("[{\"area_nm\":\"서울역\"}]"));
+    }
+
+    @Test
+    void unavailableBeforeFirstSnapshot() throws Exception {
+        mockMvc.perform(get("/main/congestion/snapshot"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+}
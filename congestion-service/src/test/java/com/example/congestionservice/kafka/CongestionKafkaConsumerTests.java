@@ -0,0 +1,50 @@
+package com.example.congestionservice.kafka;
+
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.scheduler.PushScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = CongestionKafkaConsumer.class, properties = {
+        "congestion.ingest.kafka.enabled=true",
+        "congestion.ingest.kafka.topic=congestion-test",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest"
+})
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(partitions = 1, topics = "congestion-test")
+class CongestionKafkaConsumerTests {
+
+    @MockitoBean
+    private PushScheduler pushScheduler;
+
+    @MockitoBean
+    private CongestionSnapshotCache congestionSnapshotCache;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Test
+    void pushesOnArrival() {
+        given(congestionSnapshotCache.get()).willReturn(new ObjectMapper().createArrayNode());
+        given(pushScheduler.isLeader()).willReturn(true);
+
+        kafkaTemplate.send("congestion-test",
+                "{\"congestion\":{\"area_nm\":\"명동 관광특구\",\"area_congest_lvl\":\"붐빔\",\"ppltn_time\":\"2025-06-01 12:00\"}}");
+
+        verify(pushScheduler, timeout(10_000)).publish(argThat(list ->
+                list.size() == 1 && "붐빔".equals(list.get(0).path("area_congest_lvl").asText())));
+    }
+}
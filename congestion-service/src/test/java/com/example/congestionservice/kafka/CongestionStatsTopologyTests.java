@@ -0,0 +1,105 @@
+package com.example.congestionservice.kafka;
+
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CongestionStatsTopologyTests {
+    private static final String TOPIC = "seoul_citydata_congestion";
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> input;
+    private WindowStore<String, CongestionStats> store;
+
+    @BeforeEach
+    void setUp() {
+        CongestionStatsTopology topology = new CongestionStatsTopology();
+        ReflectionTestUtils.setField(topology, "topic", TOPIC);
+        ReflectionTestUtils.setField(topology, "windowMinutes", 60L);
+        ReflectionTestUtils.setField(topology, "advanceMinutes", 15L);
+        ReflectionTestUtils.setField(topology, "retentionHours", 24L);
+
+        StreamsBuilder builder = new StreamsBuilder();
+        topology.congestionStatsStream(builder);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "congestion-stats-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+        input = driver.createInputTopic(TOPIC, new StringSerializer(), new StringSerializer());
+        store = driver.getWindowStore(CongestionStatsTopology.STORE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void aggregatesIntoHoppingWindows() {
+        send("강남역", "12:00", "보통", 100, 200);
+        send("강남역", "12:10", "붐빔", 300, 500);
+        send("강남역", "12:20", "붐빔", 50, 150);
+
+        // [12:00, 13:00) 에는 세 샘플 모두
+        CongestionStats full = store.fetch("강남역", at("12:00"));
+        assertThat(full.getCount()).isEqualTo(3);
+        assertThat(full.getPpltnMin()).isEqualTo(50);
+        assertThat(full.getPpltnMax()).isEqualTo(500);
+        assertThat(full.getPpltnAvg()).isEqualTo((150 + 400 + 100) / 3.0);
+        assertThat(full.getLevelMillis()[1]).isEqualTo(10 * MINUTE); // 보통 12:00~12:10
+        assertThat(full.getLevelMillis()[3]).isEqualTo(10 * MINUTE); // 붐빔 12:10~12:20
+
+        // 15분씩 앞선 윈도우 [11:15, 12:15) 에는 앞의 두 샘플만
+        CongestionStats earlier = store.fetch("강남역", at("11:15"));
+        assertThat(earlier.getCount()).isEqualTo(2);
+        assertThat(earlier.getLevelMillis()[1]).isEqualTo(10 * MINUTE);
+        assertThat(earlier.getLevelMillis()[3]).isZero();
+
+        // [12:15, 13:15) 에는 마지막 샘플만
+        assertThat(store.fetch("강남역", at("12:15")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysByAreaAndAcceptsBothRecordShapes() {
+        send("강남역", "12:00", "보통", 100, 200);
+        input.pipeInput(null,
+                "{\"area_nm\":\"서울역\",\"ppltn_time\":\"2024-05-01 12:05\",\"area_congest_lvl\":\"여유\","
+                        + "\"area_ppltn_min\":10,\"area_ppltn_max\":20}",
+                Instant.ofEpochMilli(at("12:05")));
+        // 지역명 없는 레코드와 깨진 JSON 은 버림
+        input.pipeInput(null, "{\"congestion\":{\"ppltn_time\":\"2024-05-01 12:05\"}}", Instant.ofEpochMilli(at("12:05")));
+        input.pipeInput(null, "not json", Instant.ofEpochMilli(at("12:05")));
+
+        assertThat(store.fetch("강남역", at("12:00")).getCount()).isEqualTo(1);
+        assertThat(store.fetch("서울역", at("12:00")).getPpltnMax()).isEqualTo(20);
+    }
+
+    private void send(String areaName, String hourMinute, String level, int ppltnMin, int ppltnMax) {
+        String value = "{\"congestion\":{\"area_nm\":\"" + areaName + "\",\"ppltn_time\":\"2024-05-01 " + hourMinute
+                + "\",\"area_congest_lvl\":\"" + level + "\",\"area_ppltn_min\":" + ppltnMin
+                + ",\"area_ppltn_max\":" + ppltnMax + "}}";
+        input.pipeInput(null, value, Instant.ofEpochMilli(at(hourMinute)));
+    }
+
+    private static long at(String hourMinute) {
+        return LocalDateTime.parse("2024-05-01T" + hourMinute).atZone(SEOUL).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.congestionservice.scheduler;
+
+import com.example.congestionservice.cluster.CongestionAlertLog;
+import com.example.congestionservice.cluster.CongestionLeaderElection;
+import com.example.congestionservice.cluster.CongestionSnapshotRelay;
+import com.example.congestionservice.config.CongestionSnapshotCache;
+import com.example.congestionservice.controller.CongestionController;
+import com.example.congestionservice.service.CongestionAlertEngine;
+import com.example.congestionservice.service.CongestionHistory;
+import com.example.congestionservice.service.CongestionRanking;
+import com.example.congestionservice.service.CongestionService;
+import com.example.congestionservice.service.CongestionUserAlerts;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PushSchedulerTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final List<String> ALERT_RULES = List.of("NONE:CROWDED");
+
+    private final CongestionController congestionController = mock(CongestionController.class);
+    private final CongestionSnapshotCache congestionSnapshotCache = mock(CongestionSnapshotCache.class);
+    private final CongestionService congestionService = mock(CongestionService.class);
+    private final CongestionSnapshotRelay relay = mock(CongestionSnapshotRelay.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    private final JsonNode congestionList = mapper.createArrayNode()
+            .add(mapper.createObjectNode().put("area_nm", "강남역").put("area_congest_lvl", "붐빔"));
+
+    private CongestionLeaderElection leaderElection;
+    private PushScheduler pushScheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        leaderElection = new CongestionLeaderElection(redisTemplate, 30_000);
+
+        ObjectProvider<CongestionLeaderElection> leaderProvider = mock(ObjectProvider.class);
+        given(leaderProvider.getIfAvailable()).willReturn(leaderElection);
+        ObjectProvider<CongestionSnapshotRelay> relayProvider = mock(ObjectProvider.class);
+        given(relayProvider.getIfAvailable()).willReturn(relay);
+        ObjectProvider<CongestionAlertLog> alertLogProvider = mock(ObjectProvider.class);
+
+        pushScheduler = new PushScheduler(congestionController, new CongestionAlertEngine(ALERT_RULES),
+                congestionSnapshotCache, new CongestionHistory(10), new CongestionRanking(),
+                mock(CongestionUserAlerts.class), congestionService, leaderProvider, relayProvider, alertLogProvider);
+        ReflectionTestUtils.setField(pushScheduler, "maxIntervalMs", 300_000L);
+
+        given(congestionSnapshotCache.refresh()).willReturn(congestionList);
+        given(congestionService.getFreshness()).willReturn(new CongestionService.Freshness(1_000L, 10L));
+    }
+
+    @Test
+    void redisOutageFallsBackToLocalPollAndDelivery() {
+        willThrow(new RedisConnectionFailureException("Redis 연결 실패")).given(redisTemplate).opsForValue();
+        willThrow(new RedisConnectionFailureException("Redis 연결 실패")).given(relay).publish(any(), any(), any());
+        leaderElection.elect();
+
+        assertThat(leaderElection.isLeader()).isFalse();
+        assertThat(leaderElection.isStandalone()).isTrue();
+
+        pushScheduler.poll();
+
+        // 리더가 없어도 직접 조회하고, 발행 실패 → 로컬 구독자에게 전송
+        verify(congestionService).getFreshness();
+        verify(relay).publish(any(), any(), any());
+        verify(congestionController).sendToClients(congestionList);
+        verify(congestionController).sendAlertToClients(any());
+    }
+
+    @Test
+    void followerSkipsPollOnceRedisRecovers() {
+        willThrow(new RedisConnectionFailureException("Redis 연결 실패")).given(redisTemplate).opsForValue();
+        leaderElection.elect();
+        assertThat(pushScheduler.isLeader()).isTrue();
+
+        // Redis 복구, 다른 인스턴스가 리더
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        willReturn(valueOperations).given(redisTemplate).opsForValue();
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(false);
+        leaderElection.elect();
+
+        assertThat(leaderElection.isStandalone()).isFalse();
+        assertThat(pushScheduler.isLeader()).isFalse();
+        pushScheduler.poll();
+        verify(congestionService, never()).getFreshness();
+    }
+
+    @Test
+    void leaderPublishesThroughRelay() {
+        becomeLeader();
+
+        pushScheduler.poll();
+
+        // 정상 발행이면 로컬 전송은 relay 수신(onMessage)에서
+        verify(relay, times(1)).publish(any(), any(), any());
+        verify(congestionController, never()).sendToClients(any());
+    }
+
+    @Test
+    void changedFreshnessPushesEveryPoll() {
+        becomeLeader();
+        given(congestionService.getFreshness()).willReturn(
+                new CongestionService.Freshness(1_000L, 10L),
+                new CongestionService.Freshness(1_000L, 11L),   // 같은 시각에 늦게 들어온 문서
+                new CongestionService.Freshness(2_000L, 11L));
+
+        pushScheduler.poll();
+        pushScheduler.poll();
+        pushScheduler.poll();
+
+        verify(congestionSnapshotCache, times(3)).refresh();
+    }
+
+    @Test
+    void unchangedFreshnessSkipsWithinMaxInterval() {
+        becomeLeader();
+
+        pushScheduler.poll();
+        pushScheduler.poll();
+
+        verify(congestionSnapshotCache, times(1)).refresh();
+    }
+
+    @Test
+    void unchangedFreshnessIsForcedAfterMaxInterval() {
+        becomeLeader();
+        pushScheduler.poll();
+
+        // 마지막 푸시가 max-interval 보다 오래됨
+        ReflectionTestUtils.setField(pushScheduler, "lastPushAt", System.currentTimeMillis() - 300_001L);
+        pushScheduler.poll();
+
+        verify(congestionSnapshotCache, times(2)).refresh();
+    }
+
+    @Test
+    void failingProbeFallsBackToMaxInterval() {
+        becomeLeader();
+        given(congestionService.getFreshness()).willReturn(null);
+
+        pushScheduler.poll(); // 아직 푸시한 적 없음 → 전체 조회
+        pushScheduler.poll();
+
+        verify(congestionSnapshotCache, times(1)).refresh();
+    }
+
+    @Test
+    void kafkaIngestSkipsPolling() {
+        becomeLeader();
+        ReflectionTestUtils.setField(pushScheduler, "kafkaIngestEnabled", true);
+
+        pushScheduler.poll();
+
+        verify(congestionService, never()).getFreshness();
+    }
+
+    private void becomeLeader() {
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        willReturn(valueOperations).given(redisTemplate).opsForValue();
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
+        leaderElection.elect();
+    }
+}
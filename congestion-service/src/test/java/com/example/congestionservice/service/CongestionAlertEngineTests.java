@@ -0,0 +1,144 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CongestionAlertEngineTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    // 기본 규칙 (CongestionAlertEngine 생성자 @Value 기본값과 같은 상수)
+    private final CongestionAlertEngine engine = new CongestionAlertEngine(CongestionAlertEngine.defaultRules());
+
+    @Test
+    void firstEvaluationAlertsOnlyCrowdedLevels() {
+        ArrayNode changed = engine.evaluate(list(
+                area("강남역", "여유"),
+                area("서울역", "보통"),
+                area("홍대입구역", "약간 붐빔"),
+                area("여의도", "붐빔")));
+
+        assertThat(names(changed)).containsExactly("홍대입구역", "여의도");
+    }
+
+    @Test
+    void transitionsFollowRuleMasks() {
+        engine.evaluate(list(
+                area("강남역", "여유"),
+                area("서울역", "보통"),
+                area("홍대입구역", "약간 붐빔"),
+                area("여의도", "붐빔")));
+
+        ArrayNode changed = engine.evaluate(list(
+                area("강남역", "약간 붐빔"),   // RELAXED → SLIGHTLY_CROWDED
+                area("서울역", "여유"),        // 규칙 없음
+                area("홍대입구역", "붐빔"),     // ANY → CROWDED
+                area("여의도", "약간 붐빔")));  // CROWDED → SLIGHTLY_CROWDED 규칙 없음
+
+        assertThat(names(changed)).containsExactly("강남역", "홍대입구역");
+    }
+
+    @Test
+    void sameLevelDoesNotRepeatExceptAnyCrowded() {
+        engine.evaluate(list(area("강남역", "약간 붐빔"), area("서울역", "붐빔")));
+
+        ArrayNode changed = engine.evaluate(list(area("강남역", "약간 붐빔"), area("서울역", "붐빔")));
+
+        // ANY:CROWDED 는 이전 단계가 붐빔이어도 해당
+        assertThat(names(changed)).containsExactly("서울역");
+    }
+
+    @Test
+    void unknownLevelIsSkippedAndForecastRemoved() {
+        ObjectNode withForecast = area("강남역", "붐빔");
+        withForecast.putArray("fcst_ppltn").addObject().put("fcst_time", "2024-05-01 13:00");
+
+        ArrayNode changed = engine.evaluate(list(area("서울역", "알 수 없음"), withForecast));
+
+        assertThat(names(changed)).containsExactly("강남역");
+        assertThat(changed.get(0).has("fcst_ppltn")).isFalse();
+    }
+
+    @Test
+    void currentDoesNotTouchPreviousLevels() {
+        assertThat(names(engine.current(list(area("강남역", "약간 붐빔"))))).containsExactly("강남역");
+
+        // current 이후에도 첫 evaluate 는 NONE 기준
+        assertThat(names(engine.evaluate(list(area("강남역", "약간 붐빔"))))).containsExactly("강남역");
+    }
+
+    @Test
+    void observeCarriesPreviousLevelsWithoutAlerting() {
+        engine.observe(list(area("강남역", "약간 붐빔")));
+
+        assertThat(engine.evaluate(list(area("강남역", "약간 붐빔")))).isEmpty();
+    }
+
+    @Test
+    void areaMissingFromSnapshotStartsOverWhenItReturns() {
+        engine.evaluate(list(area("강남역", "약간 붐빔"), area("서울역", "보통")));
+        engine.evaluate(list(area("서울역", "보통"))); // 강남역 빠짐 → 직전 단계 제거
+
+        // 다시 나타나면 NONE 기준 (NONE → SLIGHTLY_CROWDED 알림)
+        assertThat(names(engine.evaluate(list(area("강남역", "약간 붐빔"), area("서울역", "보통")))))
+                .containsExactly("강남역");
+    }
+
+    @Test
+    void unknownLevelKeepsPreviousLevel() {
+        engine.evaluate(list(area("강남역", "약간 붐빔")));
+        engine.evaluate(list(area("강남역", "알 수 없음")));
+
+        // 목록에는 있었으므로 직전 단계 유지 → 반복 알림 없음
+        assertThat(engine.evaluate(list(area("강남역", "약간 붐빔")))).isEmpty();
+    }
+
+    @Test
+    void observePrunesMissingAreas() {
+        engine.observe(list(area("강남역", "약간 붐빔")));
+        engine.observe(list(area("서울역", "보통")));
+
+        assertThat(names(engine.evaluate(list(area("강남역", "약간 붐빔"))))).containsExactly("강남역");
+    }
+
+    @Test
+    void customRulesAndParsing() {
+        CongestionAlertEngine custom = new CongestionAlertEngine(List.of("CROWDED:RELAXED"));
+        custom.evaluate(list(area("강남역", "붐빔")));
+
+        assertThat(names(custom.evaluate(list(area("강남역", "여유"))))).containsExactly("강남역");
+        assertThat(CongestionAlertEngine.parseLevel("CROWDED")).isEqualTo((byte) 3);
+        assertThat(CongestionAlertEngine.parseLevel("보통")).isEqualTo((byte) 1);
+        assertThatThrownBy(() -> new CongestionAlertEngine(List.of("NORMAL:NONE")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CongestionAlertEngine(List.of("NORMAL")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CongestionAlertEngine.parseLevel("NONE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ObjectNode area(String areaName, String level) {
+        return mapper.createObjectNode().put("area_nm", areaName).put("area_congest_lvl", level);
+    }
+
+    private static ArrayNode list(ObjectNode... areas) {
+        ArrayNode list = mapper.createArrayNode();
+        for (ObjectNode area : areas) {
+            list.add(area);
+        }
+        return list;
+    }
+
+    private static List<String> names(JsonNode alerts) {
+        List<String> names = new ArrayList<>();
+        alerts.forEach(alert -> names.add(alert.path("area_nm").asText()));
+        return names;
+    }
+}
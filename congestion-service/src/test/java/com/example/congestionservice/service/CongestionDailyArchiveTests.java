@@ -0,0 +1,131 @@
+package com.example.congestionservice.service;
+
+import com.example.escommon.EsIndexResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CongestionDailyArchiveTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final LocalDate DAY = LocalDate.of(2024, 4, 30);
+
+    private final CongestionService congestionService = mock(CongestionService.class);
+    private final EsIndexResolver esIndexResolver = mock(EsIndexResolver.class);
+
+    @BeforeEach
+    void setUp() {
+        given(esIndexResolver.isSealed(DAY)).willReturn(true);
+    }
+
+    @Test
+    void unsealedDayIsRejectedWithoutQuery() throws Exception {
+        CongestionDailyArchive archive = archive(600_000, "");
+        LocalDate today = LocalDate.of(2024, 5, 1);
+        given(esIndexResolver.isSealed(today)).willReturn(false);
+
+        assertThatThrownBy(() -> archive.get("강남역", today)).isInstanceOf(IllegalArgumentException.class);
+        verify(congestionService, never()).getCongestionOfDay(anyString(), any());
+    }
+
+    @Test
+    void dayIsQueriedOnceThenCached() throws Exception {
+        CongestionDailyArchive archive = archive(600_000, "");
+        given(congestionService.getCongestionOfDay("강남역", DAY)).willReturn(history("강남역"));
+
+        assertThat(archive.get("강남역", DAY).path("area_nm").asText()).isEqualTo("강남역");
+        assertThat(archive.get("강남역", DAY).path("area_nm").asText()).isEqualTo("강남역");
+
+        verify(congestionService, times(1)).getCongestionOfDay("강남역", DAY);
+    }
+
+    @Test
+    void missingDayIsRememberedOnlyForNegativeTtl() throws Exception {
+        CongestionDailyArchive remembering = archive(600_000, "");
+        assertThat(remembering.get("없는역", DAY)).isNull();
+        assertThat(remembering.get("없는역", DAY)).isNull();
+        verify(congestionService, times(1)).getCongestionOfDay("없는역", DAY);
+
+        // TTL 0 → 매번 다시 조회 (영구 캐시에 남지 않음)
+        CongestionDailyArchive expiring = archive(0, "");
+        expiring.get("없는역2", DAY);
+        given(congestionService.getCongestionOfDay("없는역2", DAY)).willReturn(history("없는역2"));
+        assertThat(expiring.get("없는역2", DAY)).isNotNull();
+        verify(congestionService, times(2)).getCongestionOfDay("없는역2", DAY);
+    }
+
+    @Test
+    void failureIsNotCached() throws Exception {
+        CongestionDailyArchive archive = archive(600_000, "");
+        given(congestionService.getCongestionOfDay("강남역", DAY))
+                .willThrow(new IllegalStateException("ES 오류"))
+                .willReturn(history("강남역"));
+
+        assertThatThrownBy(() -> archive.get("강남역", DAY)).isInstanceOf(RuntimeException.class);
+        assertThat(archive.get("강남역", DAY)).isNotNull();
+    }
+
+    @Test
+    void concurrentRequestsShareOneQuery() throws Exception {
+        CongestionDailyArchive archive = archive(600_000, "");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(congestionService.getCongestionOfDay("강남역", DAY)).willAnswer(invocation -> {
+            entered.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return history("강남역");
+        });
+
+        CompletableFuture<JsonNode> first = CompletableFuture.supplyAsync(() -> archive.get("강남역", DAY));
+        assertThat(entered.await(2, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<JsonNode> second = CompletableFuture.supplyAsync(() -> archive.get("강남역", DAY));
+        Thread.sleep(100); // 두 번째 요청이 먼저 온 조회를 기다리는 중
+        release.countDown();
+
+        assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo(second.get(2, TimeUnit.SECONDS));
+        verify(congestionService, times(1)).getCongestionOfDay("강남역", DAY);
+    }
+
+    @Test
+    void diskCacheSurvivesRestart(@TempDir Path dir) throws Exception {
+        given(congestionService.getCongestionOfDay("강남역", DAY)).willReturn(history("강남역"));
+        archive(600_000, dir.toString()).get("강남역", DAY);
+        assertThat(Files.exists(dir.resolve("20240430").resolve("%EA%B0%95%EB%82%A8%EC%97%AD.json"))).isTrue();
+
+        // 재시작 (새 인스턴스, 메모리 캐시 없음) → 파일에서 읽고 ES 는 조회하지 않음
+        CongestionService restarted = mock(CongestionService.class);
+        CongestionDailyArchive archive = new CongestionDailyArchive(restarted, esIndexResolver, 10, 600_000, dir.toString());
+
+        assertThat(archive.get("강남역", DAY).path("area_nm").asText()).isEqualTo("강남역");
+        verify(restarted, never()).getCongestionOfDay(anyString(), any());
+    }
+
+    private CongestionDailyArchive archive(long negativeTtlMs, String dir) {
+        return new CongestionDailyArchive(congestionService, esIndexResolver, 10, negativeTtlMs, dir);
+    }
+
+    private static ObjectNode history(String areaName) {
+        ObjectNode history = mapper.createObjectNode().put("area_nm", areaName);
+        history.putArray("levels").add(1).add(2);
+        return history;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CongestionDeltaLogTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void recordKeepsOnlyChangedAreas() {
+        CongestionDeltaLog deltaLog = new CongestionDeltaLog(4);
+
+        CongestionDeltaLog.Entry first = deltaLog.record(list("보통", "여유"));
+        CongestionDeltaLog.Entry second = deltaLog.record(list("붐빔", "여유"));
+
+        assertThat(first.delta()).hasSize(2); // 첫 기록은 모든 지역
+        assertThat(second.id()).isEqualTo(first.id() + 1);
+        assertThat(second.delta()).hasSize(1);
+        assertThat(second.delta().get(0).path("area_nm").asText()).isEqualTo("강남역");
+    }
+
+    @Test
+    void sinceMergesMissedDeltasWithLatestValues() {
+        CongestionDeltaLog deltaLog = new CongestionDeltaLog(4);
+        long start = deltaLog.record(list("보통", "여유")).id();
+        deltaLog.record(list("약간 붐빔", "여유"));
+        CongestionDeltaLog.Entry last = deltaLog.record(list("붐빔", "보통"));
+
+        CongestionDeltaLog.Snapshot missed = deltaLog.since(start);
+        assertThat(missed.id()).isEqualTo(last.id());
+        assertThat(missed.list()).hasSize(2);
+        assertThat(missed.list().get(0).path("area_congest_lvl").asText()).isEqualTo("붐빔");
+        assertThat(missed.list().get(1).path("area_congest_lvl").asText()).isEqualTo("보통");
+
+        // 최신 id 로 재접속하면 놓친 변경분 없음
+        assertThat(deltaLog.since(last.id()).list()).isEmpty();
+        assertThat(deltaLog.since(last.id() + 1)).isNull();
+    }
+
+    @Test
+    void sinceReturnsNullOnceRingHasWrapped() {
+        CongestionDeltaLog deltaLog = new CongestionDeltaLog(4);
+        String[] levels = {"여유", "보통", "약간 붐빔", "붐빔", "여유", "보통"};
+        long[] ids = new long[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            ids[i] = deltaLog.record(list(levels[i], "여유")).id();
+        }
+
+        // 링에는 마지막 4개(ids[2..5])만 남음 → ids[1] 이후는 재개 가능, ids[0] 이후는 불가
+        assertThat(deltaLog.since(ids[0])).isNull();
+        CongestionDeltaLog.Snapshot missed = deltaLog.since(ids[1]);
+        assertThat(missed.id()).isEqualTo(ids[5]);
+        assertThat(missed.list().get(0).path("area_congest_lvl").asText()).isEqualTo("보통");
+    }
+
+    @Test
+    void currentPairsLastListWithItsId() {
+        CongestionDeltaLog deltaLog = new CongestionDeltaLog(4);
+        assertThat(deltaLog.current()).isNull();
+
+        JsonNode congestionList = list("붐빔", "여유");
+        long id = deltaLog.record(congestionList).id();
+
+        CongestionDeltaLog.Snapshot current = deltaLog.current();
+        assertThat(current.id()).isEqualTo(id).isEqualTo(deltaLog.lastId());
+        assertThat(current.list()).isSameAs(congestionList);
+    }
+
+    // 강남역, 명동 관광특구 두 지역 목록
+    private static ArrayNode list(String gangnam, String myeongdong) {
+        ArrayNode list = mapper.createArrayNode();
+        list.addObject().put("area_nm", "강남역").put("area_cd", "POI014").put("area_congest_lvl", gangnam)
+                .put("area_ppltn_min", 1000).put("area_ppltn_max", 1500);
+        list.addObject().put("area_nm", "명동 관광특구").put("area_cd", "POI005").put("area_congest_lvl", myeongdong)
+                .put("area_ppltn_min", 2000).put("area_ppltn_max", 2500);
+        return list;
+    }
+}
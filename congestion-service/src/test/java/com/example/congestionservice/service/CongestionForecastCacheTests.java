@@ -0,0 +1,74 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CongestionForecastCacheTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final CongestionForecastCache cache = new CongestionForecastCache();
+
+    @Test
+    void updateCachesForecastByCodeAndNameAndStripsList() {
+        ArrayNode list = mapper.createArrayNode()
+                .add(area("POI001", "강남역", "2024-05-01 12:00", "2024-05-01 13:00"))
+                .add(area(null, "서울역", "2024-05-01 12:00", "2024-05-01 13:00"));
+
+        ArrayNode compact = cache.update(list);
+
+        assertThat(compact).hasSize(2);
+        compact.forEach(area -> assertThat(area.has("fcst_ppltn")).isFalse());
+        assertThat(compact.get(0).path("area_cd").asText()).isEqualTo("POI001");
+        // 원본 목록은 그대로 (스냅샷/이력이 같은 노드를 씀)
+        assertThat(list.get(0).has("fcst_ppltn")).isTrue();
+
+        JsonNode byCode = cache.get("POI001");
+        assertThat(byCode).isSameAs(cache.get("강남역"));
+        assertThat(byCode.path("ppltn_time").asText()).isEqualTo("2024-05-01 12:00");
+        assertThat(byCode.path("fcst_ppltn").get(0).path("fcst_time").asText()).isEqualTo("2024-05-01 13:00");
+
+        // area_cd 가 없는 지역은 이름으로만 조회
+        assertThat(cache.get("서울역")).isNotNull();
+        assertThat(cache.get("null")).isNull();
+    }
+
+    @Test
+    void laterUpdateReplacesForecast() {
+        cache.update(mapper.createArrayNode().add(area("POI001", "강남역", "2024-05-01 12:00", "2024-05-01 13:00")));
+        cache.update(mapper.createArrayNode().add(area("POI001", "강남역", "2024-05-01 12:05", "2024-05-01 13:05")));
+
+        assertThat(cache.get("POI001").path("fcst_ppltn").get(0).path("fcst_time").asText())
+                .isEqualTo("2024-05-01 13:05");
+        assertThat(cache.get("강남역").path("ppltn_time").asText()).isEqualTo("2024-05-01 12:05");
+    }
+
+    @Test
+    void unknownAreaIsNull() {
+        assertThat(cache.get("강남역")).isNull();
+    }
+
+    @Test
+    void withoutForecastsKeepsOtherFields() {
+        ArrayNode compact = CongestionForecastCache.withoutForecasts(
+                mapper.createArrayNode().add(area("POI001", "강남역", "2024-05-01 12:00", "2024-05-01 13:00")));
+
+        assertThat(compact.get(0).has("fcst_ppltn")).isFalse();
+        assertThat(compact.get(0).path("area_congest_lvl").asText()).isEqualTo("붐빔");
+        assertThat(compact.get(0).path("area_nm").asText()).isEqualTo("강남역");
+    }
+
+    private static ObjectNode area(String areaCode, String areaName, String ppltnTime, String fcstTime) {
+        ObjectNode area = mapper.createObjectNode();
+        if (areaCode != null) {
+            area.put("area_cd", areaCode);
+        }
+        area.put("area_nm", areaName).put("area_congest_lvl", "붐빔").put("ppltn_time", ppltnTime);
+        area.putArray("fcst_ppltn").addObject().put("fcst_time", fcstTime).put("fcst_congest_lvl", "보통");
+        return area;
+    }
+}
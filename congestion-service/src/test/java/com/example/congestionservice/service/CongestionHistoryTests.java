@@ -0,0 +1,89 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CongestionHistoryTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void keepsOnlyLastCapacityEntriesInOrder() {
+        CongestionHistory history = new CongestionHistory(3);
+        for (int minute = 0; minute < 25; minute += 5) {
+            history.append(list(area("강남역", "POI001", time(minute), "보통", minute)));
+        }
+
+        ObjectNode result = history.get("강남역", 0);
+
+        // 링이 두 번 돌아도 가장 오래된 것부터 마지막 3칸
+        assertThat(longs(result.path("times"))).containsExactly(
+                CongestionHistory.parseTime(time(10)),
+                CongestionHistory.parseTime(time(15)),
+                CongestionHistory.parseTime(time(20)));
+        assertThat(longs(result.path("ppltn_min"))).containsExactly(10L, 15L, 20L);
+        assertThat(longs(result.path("levels"))).containsExactly(1L, 1L, 1L);
+        assertThat(result.path("area_nm").asText()).isEqualTo("강남역");
+    }
+
+    @Test
+    void sameTimeOverwritesLastSlot() {
+        CongestionHistory history = new CongestionHistory(3);
+        history.append(list(area("강남역", "POI001", time(0), "보통", 100)));
+        history.append(list(area("강남역", "POI001", time(0), "붐빔", 200)));
+
+        ObjectNode result = history.get("강남역", 0);
+
+        assertThat(longs(result.path("times"))).hasSize(1);
+        assertThat(longs(result.path("levels"))).containsExactly(3L);
+        assertThat(longs(result.path("ppltn_min"))).containsExactly(200L);
+    }
+
+    @Test
+    void filtersBySinceAndResolvesAreaCode() {
+        CongestionHistory history = new CongestionHistory(10);
+        history.append(list(area("강남역", "POI001", time(0), "보통", 1)));
+        history.append(list(area("강남역", "POI001", time(5), "보통", 2)));
+
+        ObjectNode result = history.get("POI001", CongestionHistory.parseTime(time(5)));
+
+        assertThat(longs(result.path("ppltn_min"))).containsExactly(2L);
+        assertThat(result.path("area_nm").asText()).isEqualTo("강남역");
+        assertThat(history.get("없는 지역", 0)).isNull();
+    }
+
+    private static String time(int minute) {
+        return String.format("2024-05-01 12:%02d", minute);
+    }
+
+    private static ObjectNode area(String areaName, String areaCode, String ppltnTime, String level, int ppltnMin) {
+        return mapper.createObjectNode()
+                .put("area_nm", areaName)
+                .put("area_cd", areaCode)
+                .put("ppltn_time", ppltnTime)
+                .put("area_congest_lvl", level)
+                .put("area_ppltn_min", ppltnMin)
+                .put("area_ppltn_max", ppltnMin + 1000);
+    }
+
+    private static ArrayNode list(ObjectNode... areas) {
+        ArrayNode list = mapper.createArrayNode();
+        for (ObjectNode area : areas) {
+            list.add(area);
+        }
+        return list;
+    }
+
+    private static List<Long> longs(JsonNode array) {
+        List<Long> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asLong()));
+        return values;
+    }
+}
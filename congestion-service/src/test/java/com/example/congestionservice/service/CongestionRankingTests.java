@@ -0,0 +1,90 @@
+package com.example.congestionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CongestionRankingTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final CongestionRanking ranking = new CongestionRanking();
+
+    @Test
+    void ordersByLevelThenPopulation() {
+        ranking.update(list(
+                area("강남역", "보통", 30000, 28000),
+                area("서울역", "붐빔", 20000, 18000),
+                area("홍대입구역", "보통", 35000, 30000),
+                area("여의도", "붐빔", 25000, 20000)));
+
+        assertThat(names(ranking.top(10))).containsExactly("여의도", "서울역", "홍대입구역", "강남역");
+        assertThat(ranking.top(10).get(0).path("rank").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void reordersWhenAreaChanges() {
+        ranking.update(list(
+                area("강남역", "보통", 30000, 28000),
+                area("서울역", "붐빔", 20000, 18000)));
+
+        // 강남역이 붐빔으로 바뀌고 인구도 더 많음
+        ranking.update(list(
+                area("강남역", "붐빔", 40000, 38000),
+                area("서울역", "붐빔", 20000, 18000)));
+
+        assertThat(names(ranking.top(10))).containsExactly("강남역", "서울역");
+    }
+
+    @Test
+    void removesAreasMissingFromFullList() {
+        ranking.update(list(
+                area("강남역", "붐빔", 30000, 28000),
+                area("서울역", "보통", 20000, 18000)));
+
+        ranking.update(list(area("서울역", "보통", 20000, 18000)));
+
+        assertThat(names(ranking.top(10))).containsExactly("서울역");
+
+        ranking.update(list());
+        assertThat(ranking.isEmpty()).isTrue();
+    }
+
+    @Test
+    void topIsLimited() {
+        ranking.update(list(
+                area("강남역", "붐빔", 30000, 28000),
+                area("서울역", "보통", 20000, 18000),
+                area("홍대입구역", "여유", 10000, 8000)));
+
+        assertThat(names(ranking.top(2))).containsExactly("강남역", "서울역");
+    }
+
+    private static ObjectNode area(String areaName, String level, int ppltnMax, int ppltnMin) {
+        return mapper.createObjectNode()
+                .put("area_nm", areaName)
+                .put("area_congest_lvl", level)
+                .put("area_ppltn_max", ppltnMax)
+                .put("area_ppltn_min", ppltnMin);
+    }
+
+    private static ArrayNode list(ObjectNode... areas) {
+        ArrayNode list = mapper.createArrayNode();
+        for (ObjectNode area : areas) {
+            list.add(area);
+        }
+        return list;
+    }
+
+    private static List<String> names(JsonNode top) {
+        List<String> names = new ArrayList<>();
+        top.forEach(rank -> names.add(rank.path("area_nm").asText()));
+        return names;
+    }
+}
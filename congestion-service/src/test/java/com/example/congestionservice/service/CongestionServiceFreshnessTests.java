@@ -0,0 +1,88 @@
+package com.example.congestionservice.service;
+
+import com.example.escommon.EsIndexResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+class CongestionServiceFreshnessTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private CongestionService congestionService;
+
+    @BeforeEach
+    void setUp() {
+        EsIndexResolver esIndexResolver = mock(EsIndexResolver.class);
+        given(esIndexResolver.searchUrl(anyString()))
+                .willReturn("http://localhost:9200/seoul_citydata_congestion_20240501/_search");
+        congestionService = spy(new CongestionService(esIndexResolver, mock(RestTemplate.class)));
+    }
+
+    @Test
+    void dateMappedMaxReturnsFreshness() throws Exception {
+        ObjectNode response = response(120);
+        response.putObject("aggregations").putObject("latest")
+                .put("value", 1714532400000L).put("value_as_string", "2024-05-01 12:00");
+        doReturn(response).when(congestionService).search(anyString(), anyString());
+
+        assertThat(congestionService.getFreshness())
+                .isEqualTo(new CongestionService.Freshness(1714532400000L, 120));
+    }
+
+    @Test
+    void emptyIndexReturnsNull() throws Exception {
+        ObjectNode response = response(0);
+        response.putObject("aggregations").putObject("latest").putNull("value");
+        doReturn(response).when(congestionService).search(anyString(), anyString());
+
+        assertThat(congestionService.getFreshness()).isNull();
+    }
+
+    @Test
+    void missingMaxWithDocumentsReturnsNull() throws Exception {
+        // 문서는 있는데 max 값이 없음 (date 로 매핑되지 않은 필드)
+        ObjectNode response = response(120);
+        response.putObject("aggregations").putObject("latest").putNull("value");
+        doReturn(response).when(congestionService).search(anyString(), anyString());
+
+        assertThat(congestionService.getFreshness()).isNull();
+        assertThat(congestionService.getFreshness()).isNull(); // 경고는 한 번만, 결과는 같음
+    }
+
+    @Test
+    void keywordMappingRejectedReturnsNull() throws Exception {
+        // keyword 필드에 max 집계 → ES 400
+        doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+                .when(congestionService).search(anyString(), anyString());
+
+        assertThat(congestionService.getFreshness()).isNull();
+    }
+
+    @Test
+    void numericMappingStillComparable() throws Exception {
+        ObjectNode response = response(120);
+        response.putObject("aggregations").putObject("latest").put("value", 202405011200L);
+        doReturn(response).when(congestionService).search(anyString(), anyString());
+
+        assertThat(congestionService.getFreshness())
+                .isEqualTo(new CongestionService.Freshness(202405011200L, 120));
+    }
+
+    private static ObjectNode response(long total) {
+        ObjectNode response = mapper.createObjectNode();
+        response.putObject("hits").putObject("total").put("value", total);
+        return response;
+    }
+}
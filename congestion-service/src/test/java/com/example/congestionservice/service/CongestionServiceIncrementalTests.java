@@ -0,0 +1,130 @@
+package com.example.congestionservice.service;
+
+import com.example.escommon.EsIndexResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CongestionServiceIncrementalTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String SEARCH_URL = "http://localhost:9200/seoul_citydata_congestion_20240501/_search";
+
+    private CongestionService congestionService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        EsIndexResolver esIndexResolver = mock(EsIndexResolver.class);
+        given(esIndexResolver.searchUrl(anyString())).willReturn(SEARCH_URL);
+
+        congestionService = spy(new CongestionService(esIndexResolver, mock(RestTemplate.class)));
+        ReflectionTestUtils.setField(congestionService, "incrementalPageSize", 2);
+        ReflectionTestUtils.setField(congestionService, "latenessMinutes", 10L);
+
+        // 첫 조회는 전체 집계 (보고를 멈춘 지역 C 가 가장 오래됨)
+        ArrayNode seed = mapper.createArrayNode()
+                .add(congestion("강남역", "2024-05-01 12:00"))
+                .add(congestion("서울역", "2024-05-01 12:00"))
+                .add(congestion("홍대입구역", "2024-05-01 11:00"));
+        doReturn(seed).when(congestionService).getCongestionAggregated();
+        congestionService.getCongestionIncremental();
+    }
+
+    @Test
+    void pagesAreMergedWithUniqueSearchAfter() throws Exception {
+        // 같은 시각 문서 3건이 페이지 경계(2건)에 걸림
+        doReturn(page(hit("강남역", "2024-05-01 12:05"), hit("서울역", "2024-05-01 12:05")),
+                page(hit("홍대입구역", "2024-05-01 12:05")))
+                .when(congestionService).search(anyString(), anyString());
+
+        JsonNode result = congestionService.getCongestionIncremental();
+
+        assertThat(result).hasSize(3);
+        for (JsonNode congestion : result) {
+            assertThat(congestion.path("ppltn_time").asText()).isEqualTo("2024-05-01 12:05");
+        }
+
+        ArgumentCaptor<String> bodies = ArgumentCaptor.forClass(String.class);
+        verify(congestionService, times(2)).search(eq(SEARCH_URL), bodies.capture());
+        List<JsonNode> requests = bodies.getAllValues().stream().map(CongestionServiceIncrementalTests::readTree).toList();
+
+        // 하한은 가장 오래된 지역(11:00)이 아니라 최신 시각 - lateness
+        JsonNode first = requests.get(0);
+        assertThat(first.path("query").path("range").path("congestion.ppltn_time").path("gte").asText())
+                .isEqualTo("2024-05-01 11:50");
+        assertThat(first.path("sort").path(1).has("congestion.area_nm")).isTrue();
+        assertThat(first.has("search_after")).isFalse();
+
+        // 두 번째 페이지는 (시각, 지역) 으로 이어서 조회 → 같은 시각의 나머지 지역을 건너뛰지 않음
+        JsonNode second = requests.get(1);
+        assertThat(second.path("search_after").path(1).asText()).isEqualTo("서울역");
+    }
+
+    @Test
+    void watermarkOnlyMovesForwardAndPicksUpLateDocuments() throws Exception {
+        doReturn(page(hit("강남역", "2024-05-01 12:05")))
+                .when(congestionService).search(anyString(), anyString());
+        congestionService.getCongestionIncremental();
+
+        // 늦게 적재된 문서 (최신 시각보다 이전이지만 lateness 안)
+        doReturn(page(hit("홍대입구역", "2024-05-01 12:00")))
+                .when(congestionService).search(anyString(), anyString());
+        JsonNode result = congestionService.getCongestionIncremental();
+
+        ArgumentCaptor<String> bodies = ArgumentCaptor.forClass(String.class);
+        verify(congestionService, times(2)).search(anyString(), bodies.capture());
+        assertThat(readTree(bodies.getAllValues().get(1)).path("query").path("range")
+                .path("congestion.ppltn_time").path("gte").asText()).isEqualTo("2024-05-01 11:55");
+
+        for (JsonNode congestion : result) {
+            if (congestion.path("area_nm").asText().equals("홍대입구역")) {
+                assertThat(congestion.path("ppltn_time").asText()).isEqualTo("2024-05-01 12:00");
+            }
+        }
+    }
+
+    private static ObjectNode congestion(String areaName, String ppltnTime) {
+        return mapper.createObjectNode().put("area_nm", areaName).put("ppltn_time", ppltnTime);
+    }
+
+    private static ObjectNode hit(String areaName, String ppltnTime) {
+        ObjectNode hit = mapper.createObjectNode();
+        hit.putObject("_source").set("congestion", congestion(areaName, ppltnTime));
+        hit.putArray("sort").add(ppltnTime).add(areaName);
+        return hit;
+    }
+
+    private static JsonNode page(ObjectNode... hits) {
+        ObjectNode response = mapper.createObjectNode();
+        ArrayNode array = response.putObject("hits").putArray("hits");
+        for (ObjectNode hit : hits) {
+            array.add(hit);
+        }
+        return response;
+    }
+
+    private static JsonNode readTree(String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
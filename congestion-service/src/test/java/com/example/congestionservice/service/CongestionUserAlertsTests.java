@@ -0,0 +1,113 @@
+package com.example.congestionservice.service;
+
+import com.example.congestionservice.sse.SseFanout;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CongestionUserAlertsTests {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final SseFanout sseFanout = new SseFanout(1, 8, 10_000, 100, new SimpleMeterRegistry());
+    private final CongestionUserAlerts userAlerts = new CongestionUserAlerts(sseFanout);
+
+    @AfterEach
+    void tearDown() {
+        sseFanout.shutdown();
+    }
+
+    @Test
+    void parseRulesAcceptsCodesNamesAndBothLevelNames() {
+        Map<String, Byte> rules = CongestionUserAlerts.parseRules(List.of("POI001:CROWDED", " 서울역 : 약간 붐빔", "a:b:NORMAL"));
+
+        assertThat(rules).containsEntry("POI001", (byte) 3)
+                .containsEntry("서울역", (byte) 2)
+                .containsEntry("a:b", (byte) 1); // 지역명에 ':' 가 있어도 마지막 ':' 기준
+    }
+
+    @Test
+    void parseRulesRejectsMalformedRules() {
+        assertThatThrownBy(() -> CongestionUserAlerts.parseRules(List.of("POI001")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CongestionUserAlerts.parseRules(List.of(":CROWDED")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CongestionUserAlerts.parseRules(List.of("POI001:")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CongestionUserAlerts.parseRules(List.of("POI001:VERY_CROWDED")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void alertsOnlyWhenCrossingThresholdUpwards() {
+        SseFanout.Subscriber byCode = subscribe(Map.of("POI001", (byte) 2));
+        SseFanout.Subscriber byName = subscribe(Map.of("강남역", (byte) 3));
+        subscribe(Map.of("서울역", (byte) 2));
+
+        userAlerts.evaluate(list(area("강남역", "POI001", "보통"), area("서울역", "POI002", "보통"))); // 첫 조회는 기준만 잡음
+
+        Map<SseFanout.Subscriber, ArrayNode> alerts = userAlerts.evaluate(
+                list(area("강남역", "POI001", "약간 붐빔"), area("서울역", "POI002", "보통")));
+        assertThat(alerts).containsOnlyKeys(byCode);
+        assertThat(names(alerts.get(byCode))).containsExactly("강남역");
+
+        // 같은 단계 유지 → 다시 알리지 않음, 붐빔 도달 → 붐빔 기준 구독자만
+        assertThat(userAlerts.evaluate(list(area("강남역", "POI001", "약간 붐빔")))).isEmpty();
+        alerts = userAlerts.evaluate(list(area("강남역", "POI001", "붐빔")));
+        assertThat(alerts).containsOnlyKeys(byName);
+
+        // 내려갔다가 다시 올라가면 다시 알림
+        userAlerts.evaluate(list(area("강남역", "POI001", "여유")));
+        assertThat(userAlerts.evaluate(list(area("강남역", "POI001", "붐빔")))).containsOnlyKeys(byCode, byName);
+    }
+
+    @Test
+    void currentListsAreasAlreadyAtThreshold() {
+        SseFanout.Subscriber subscriber = subscribe(Map.of("POI001", (byte) 2, "서울역", (byte) 3));
+
+        ArrayNode current = userAlerts.current(subscriber, list(
+                area("강남역", "POI001", "붐빔"),
+                area("서울역", "POI002", "약간 붐빔"),
+                area("홍대입구역", "POI003", "붐빔")));
+
+        assertThat(names(current)).containsExactly("강남역");
+        assertThat(userAlerts.current(subscribe(Map.of()), list(area("강남역", "POI001", "붐빔")))).isEmpty();
+    }
+
+    private SseFanout.Subscriber subscribe(Map<String, Byte> rules) {
+        return sseFanout.register(new ResponseBodyEmitter(), false, false, Set.of(), false, rules);
+    }
+
+    private static ObjectNode area(String areaName, String areaCode, String level) {
+        return mapper.createObjectNode()
+                .put("area_nm", areaName)
+                .put("area_cd", areaCode)
+                .put("area_congest_lvl", level);
+    }
+
+    private static ArrayNode list(ObjectNode... areas) {
+        ArrayNode list = mapper.createArrayNode();
+        for (ObjectNode area : areas) {
+            list.add(area);
+        }
+        return list;
+    }
+
+    private static List<String> names(JsonNode alerts) {
+        List<String> names = new ArrayList<>();
+        alerts.forEach(alert -> names.add(alert.path("area_nm").asText()));
+        return names;
+    }
+}
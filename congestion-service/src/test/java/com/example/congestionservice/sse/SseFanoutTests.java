@@ -0,0 +1,168 @@
+package com.example.congestionservice.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseFanoutTests {
+    private static final SseFrame FRAME = SseFrame.comment("test");
+
+    private SseFanout sseFanout;
+
+    @AfterEach
+    void tearDown() {
+        sseFanout.shutdown();
+    }
+
+    @Test
+    void outboxOverflowDropsAndEvicts() throws Exception {
+        sseFanout = new SseFanout(2, 2, 10_000, 100, new SimpleMeterRegistry());
+        BlockingEmitter emitter = new BlockingEmitter(true);
+        SseFanout.Subscriber subscriber = sseFanout.register(emitter);
+
+        sseFanout.send(subscriber, FRAME);
+        assertThat(emitter.entered.await(2, TimeUnit.SECONDS)).isTrue(); // writer 가 쓰기에서 막힘
+        sseFanout.send(subscriber, FRAME);
+        sseFanout.send(subscriber, FRAME); // outbox 가득 참
+        sseFanout.send(subscriber, FRAME); // 초과 → 버리고 evict
+
+        assertThat(sseFanout.getDroppedCount().get()).isEqualTo(1);
+        assertThat(sseFanout.getEvictedCount().get()).isEqualTo(1);
+        assertThat(sseFanout.size()).isZero();
+        assertThat(emitter.completed).isFalse(); // 쓰기 중에는 emitter 를 닫지 않음
+
+        emitter.release.countDown();
+        awaitUntil(() -> emitter.completed);
+        assertThat(emitter.sent.get()).isEqualTo(1); // evict 뒤 남은 프레임은 쓰지 않음
+    }
+
+    @Test
+    void stalledWriterIsEvictedAndOthersKeepReceiving() throws Exception {
+        sseFanout = new SseFanout(1, 8, 50, 100, new SimpleMeterRegistry());
+        BlockingEmitter stalled = new BlockingEmitter(true);
+        sseFanout.send(sseFanout.register(stalled), FRAME);
+        assertThat(stalled.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // 하나뿐인 writer 가 막혀 있으므로 대기열에 쌓임
+        BlockingEmitter fast = new BlockingEmitter(false);
+        sseFanout.send(sseFanout.register(fast), FRAME);
+        Thread.sleep(100);
+        assertThat(fast.sent.get()).isZero();
+
+        sseFanout.evictStalled();
+        assertThat(sseFanout.getEvictedCount().get()).isEqualTo(1);
+        assertThat(sseFanout.size()).isEqualTo(1);
+        assertThat(sseFanout.getWriterPoolSize()).isEqualTo(2);
+        awaitUntil(() -> fast.sent.get() == 1);
+
+        // 쓰기가 끝나면 writer 풀 원래 크기로
+        stalled.release.countDown();
+        awaitUntil(() -> stalled.completed);
+        sseFanout.evictStalled();
+        assertThat(sseFanout.getWriterPoolSize()).isEqualTo(1);
+    }
+
+    @Test
+    void removeUnregistersFromIndexes() {
+        sseFanout = new SseFanout(1, 8, 10_000, 100, new SimpleMeterRegistry());
+        SseFanout.Subscriber subscriber = sseFanout.register(new BlockingEmitter(false), false, true,
+                Set.of("POI001"), false, Map.of("강남역", (byte) 3));
+
+        assertThat(sseFanout.subscribersOf("POI001", "명동 관광특구")).containsExactly(subscriber);
+        assertThat(sseFanout.ruleSubscribersOf("POI014", "강남역")).containsExactly(subscriber);
+
+        sseFanout.remove(subscriber);
+        assertThat(sseFanout.subscribersOf("POI001")).isEmpty();
+        assertThat(sseFanout.ruleSubscribersOf("강남역")).isEmpty();
+        assertThat(sseFanout.size()).isZero();
+
+        // 닫힌 구독자에게는 보내지 않음
+        sseFanout.send(subscriber, FRAME);
+        assertThat(sseFanout.getDroppedCount().get()).isZero();
+    }
+
+    @Test
+    void areaIndexTracksOnlyFilteredSubscribers() {
+        sseFanout = new SseFanout(1, 8, 10_000, 100, new SimpleMeterRegistry());
+        SseFanout.Subscriber all = sseFanout.register(new BlockingEmitter(false));
+        SseFanout.Subscriber both = sseFanout.register(new BlockingEmitter(false), false, true,
+                Set.of("POI001", "POI002"), false);
+        SseFanout.Subscriber one = sseFanout.register(new BlockingEmitter(false), false, true,
+                Set.of("POI002"), false);
+
+        assertThat(all.isFiltered()).isFalse();
+        assertThat(sseFanout.subscribersOf("POI002")).containsExactlyInAnyOrder(both, one);
+        assertThat(sseFanout.subscribersOf("POI001", "강남역")).containsExactly(both);
+        assertThat(sseFanout.subscribersOf("POI003")).isEmpty();
+
+        // 한 구독자를 빼도 같은 지역의 다른 구독자는 남음
+        sseFanout.remove(both);
+        assertThat(sseFanout.subscribersOf("POI002")).containsExactly(one);
+        assertThat(sseFanout.subscribersOf("POI001")).isEmpty();
+        assertThat(sseFanout.size()).isEqualTo(2);
+    }
+
+    @Test
+    void fullUntilASubscriberLeaves() {
+        sseFanout = new SseFanout(1, 8, 10_000, 2, new SimpleMeterRegistry());
+        SseFanout.Subscriber first = sseFanout.register(new BlockingEmitter(false));
+        assertThat(sseFanout.isFull()).isFalse();
+
+        sseFanout.register(new BlockingEmitter(false));
+        assertThat(sseFanout.isFull()).isTrue();
+
+        // 연결이 끊기면 다시 받음
+        sseFanout.remove(first);
+        assertThat(sseFanout.isFull()).isFalse();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // send 가 release 될 때까지 막히는 emitter (받지 않는 클라이언트 흉내)
+    private static final class BlockingEmitter extends ResponseBodyEmitter {
+        private final boolean block;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger sent = new AtomicInteger();
+        private volatile boolean completed;
+
+        private BlockingEmitter(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (block) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
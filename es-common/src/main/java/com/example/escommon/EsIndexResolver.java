@@ -0,0 +1,90 @@
+package com.example.escommon;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 날짜별 ES 인덱스(prefix + yyyyMMdd) 이름 결정 (congestion-service, external-info-service 공용)
+ * - 자정 직후 overlap 시간 동안은 어제 인덱스도 함께 조회 (오늘 인덱스가 비어 있거나 아직 없을 때 대비)
+ * - 없는 인덱스는 ignore_unavailable 로 무시
+ * - 자정 직전에 다음 날 인덱스가 있는지만 확인 (생성은 수집기/인덱스 템플릿 몫, 조회 서비스는 ES 에 쓰지 않음)
+ * - 날짜는 서버 기본 시간대가 아니라 서울 시간 기준 (수집 데이터 시각과 같은 기준)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EsIndexResolver {
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter INDEX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final RestTemplate restTemplate;
+    // searchUrl 로 한 번이라도 조회한 인덱스 prefix (다음 날 확인 대상)
+    private final Set<String> prefixes = ConcurrentHashMap.newKeySet();
+    // 날짜 경계 테스트용
+    private Clock clock = Clock.system(ZONE);
+
+    @Value("${elastic_url}")
+    private String elastic_url;
+
+    @Value("${es.index.rollover-overlap-minutes:60}")
+    private long overlapMinutes;
+
+    /**
+     * @param prefix 인덱스 prefix (예: seoul_citydata_congestion_)
+     */
+    public String searchUrl(String prefix) {
+        prefixes.add(prefix);
+        LocalDateTime now = LocalDateTime.now(clock);
+        String indices = prefix + now.format(INDEX_DATE);
+        if (now.toLocalTime().isBefore(LocalTime.MIDNIGHT.plusMinutes(overlapMinutes))) {
+            indices += "," + prefix + now.minusDays(1).format(INDEX_DATE);
+        }
+        return elastic_url + "/" + indices + "/_search?ignore_unavailable=true";
+    }
+
+    /**
+     * 특정 날짜 인덱스 하나만 조회하는 URL (지난 날짜 조회용, 없는 인덱스면 빈 결과)
+     */
+    public String searchUrl(String prefix, LocalDate date) {
+        return elastic_url + "/" + prefix + date.format(INDEX_DATE) + "/_search?ignore_unavailable=true";
+    }
+
+    /**
+     * 더 이상 쓰이지 않는 날짜인지 (자정 이후 overlap 시간까지 지나야 어제 인덱스도 마감으로 봄)
+     */
+    public boolean isSealed(LocalDate date) {
+        return date.isBefore(LocalDateTime.now(clock).minusMinutes(overlapMinutes).toLocalDate());
+    }
+
+    // 자정 직전 다음 날 인덱스 존재 확인 (HEAD, 없으면 경고만)
+    @Scheduled(cron = "${es.index.prewarm-cron:0 55 23 * * *}", zone = "Asia/Seoul")
+    public void prewarmTomorrow() {
+        String tomorrow = LocalDate.now(clock).plusDays(1).format(INDEX_DATE);
+        for (String prefix : prefixes) {
+            String index = prefix + tomorrow;
+            try {
+                restTemplate.exchange(elastic_url + "/" + index, HttpMethod.HEAD, null, Void.class);
+                log.debug("ES 다음 날 인덱스 확인 : {}", index);
+            } catch (HttpClientErrorException.NotFound e) {
+                log.warn("ES 다음 날 인덱스 없음 : {} (수집기/인덱스 템플릿 확인 필요, 자정 직후 overlap 동안은 어제 인덱스로 조회)", index);
+            } catch (Exception e) {
+                log.warn("ES 다음 날 인덱스 확인 실패 : {} ({})", index, e.getMessage());
+            }
+        }
+    }
+}
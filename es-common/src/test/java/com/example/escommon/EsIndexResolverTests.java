@@ -0,0 +1,89 @@
+package com.example.escommon;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class EsIndexResolverTests {
+    private static final String PREFIX = "seoul_citydata_congestion_";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final EsIndexResolver resolver = new EsIndexResolver(restTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resolver, "elastic_url", "http://localhost:9200");
+        ReflectionTestUtils.setField(resolver, "overlapMinutes", 60L);
+    }
+
+    @Test
+    void overlapWindowIncludesYesterday() {
+        at("2024-05-01T00:59:59");
+
+        assertThat(resolver.searchUrl(PREFIX)).isEqualTo("http://localhost:9200/"
+                + PREFIX + "20240501," + PREFIX + "20240430/_search?ignore_unavailable=true");
+    }
+
+    @Test
+    void afterOverlapOnlyToday() {
+        at("2024-05-01T01:00");
+
+        assertThat(resolver.searchUrl(PREFIX))
+                .isEqualTo("http://localhost:9200/" + PREFIX + "20240501/_search?ignore_unavailable=true");
+    }
+
+    @Test
+    void yearBoundaryRollsOver() {
+        at("2025-01-01T00:10");
+
+        assertThat(resolver.searchUrl(PREFIX)).contains(PREFIX + "20250101," + PREFIX + "20241231/");
+    }
+
+    @Test
+    void yesterdayIsSealedOnlyAfterOverlap() {
+        at("2024-05-01T00:30");
+        assertThat(resolver.isSealed(LocalDate.of(2024, 4, 30))).isFalse();
+        assertThat(resolver.isSealed(LocalDate.of(2024, 4, 29))).isTrue();
+        assertThat(resolver.isSealed(LocalDate.of(2024, 5, 1))).isFalse();
+
+        at("2024-05-01T01:00");
+        assertThat(resolver.isSealed(LocalDate.of(2024, 4, 30))).isTrue();
+        assertThat(resolver.isSealed(LocalDate.of(2024, 5, 1))).isFalse();
+    }
+
+    @Test
+    void prewarmOnlyChecksTomorrowsIndex() {
+        at("2024-05-01T23:55");
+        resolver.searchUrl(PREFIX);
+        given(restTemplate.exchange(anyString(), eq(HttpMethod.HEAD), any(), eq(Void.class)))
+                .willThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        resolver.prewarmTomorrow();
+
+        // 없는 인덱스도 만들지 않음 (HEAD 확인만)
+        verify(restTemplate).exchange("http://localhost:9200/" + PREFIX + "20240502", HttpMethod.HEAD, null, Void.class);
+        verifyNoMoreInteractions(restTemplate);
+    }
+
+    private void at(String dateTime) {
+        ReflectionTestUtils.setField(resolver, "clock", Clock.fixed(
+                LocalDateTime.parse(dateTime).atZone(EsIndexResolver.ZONE).toInstant(), EsIndexResolver.ZONE));
+    }
+}
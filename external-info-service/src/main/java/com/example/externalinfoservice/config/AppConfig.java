@@ -1,10 +1,13 @@
 package com.example.externalinfoservice.config;
 
+import com.example.escommon.EsIndexResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@Import(EsIndexResolver.class) // es-common 공용 소스 (컴포넌트 스캔 범위 밖)
 public class AppConfig {
     @Bean
     public RestTemplate restTemplate() {
@@ -1,13 +1,23 @@
 package com.example.externalinfoservice.controller;
 
 import com.example.externalinfoservice.service.AccidentEsService;
+import com.example.externalinfoservice.sse.SseEmitters;
+import com.example.externalinfoservice.sse.SseMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -15,37 +25,107 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("main/accident")
+@Slf4j
 public class AccidentEsController {
 
     private final AccidentEsService accidentEsService;
+    private final MeterRegistry meterRegistry;
     private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    // Spring 이 설정한 ObjectMapper (모듈, 날짜 형식 등 초기 전송과 같은 설정으로 직렬화)
+    private final ObjectMapper mapper;
 
+    // emitter 최대 수명, 지나면 연결을 닫고 브라우저가 재접속 (half-open 연결 자원 회수)
+    @Value("${external.sse.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${external.sse.max-connections:10000}")
+    private int maxConnections;
+
+    // 연결 수 초과로 거절할 때 재접속까지 대기 시간
+    @Value("${external.sse.retry-ms:5000}")
+    private long retryMs;
+
+    private SseMetrics sseMetrics;
+
+    @PostConstruct
+    void registerMetrics() {
+        sseMetrics = new SseMetrics(meterRegistry, "accident", emitters);
+    }
+
+    // 최대 연결 수를 넘으면 503 + Retry-After 로 거절 (재접속은 클라이언트가 직접)
     @GetMapping("")
-    public SseEmitter streamAccident() {
-        SseEmitter emitter = new SseEmitter(0L);
+    public ResponseEntity<SseEmitter> streamAccident() {
+        if (emitters.size() >= maxConnections) {
+            log.warn("사고 SSE 연결 수 초과 → 503");
+            return SseEmitters.unavailable(retryMs);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
         emitters.add(emitter);
 
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError((e) -> emitters.remove(emitter));
+        emitter.onCompletion(() -> {
+            sseMetrics.completed();
+            emitters.remove(emitter);
+        });
+        emitter.onTimeout(() -> {
+            sseMetrics.timedOut();
+            emitters.remove(emitter);
+        });
+        emitter.onError((e) -> {
+            sseMetrics.failed();
+            emitters.remove(emitter);
+        });
+
+        // 구독시, 초기 데이터는 새 구독자에게만 전송
+        try {
+            List<Map<String, Object>> accidentList = accidentEsService.getAllAccidentsFromES();
+            emitter.send(SseEmitter.event()
+                    .name("accident-alert")
+                    .data(mapper.writeValueAsString(accidentList)));
+        } catch (IOException | IllegalStateException e) {
+            log.error("사고 SSE 초기 데이터 전송 실패");
+            emitter.completeWithError(e);
+            emitters.remove(emitter);
+        }
 
-        List<Map<String, Object>> accidentList = accidentEsService.getAllAccidentsFromES();
-        sendToClients(accidentList);
+        return ResponseEntity.ok(emitter);
+    }
 
-        return emitter;
+    // 주석 프레임으로 연결 확인, 쓰기 실패한(끊긴) 연결은 바로 정리
+    public void sendHeartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                emitters.remove(emitter);
+            }
+        }
     }
 
     public void sendToClients(List<Map<String, Object>> accidentList) {
+        long startNanos = System.nanoTime();
+        String accidentJson;
+        try {
+            accidentJson = mapper.writeValueAsString(accidentList);
+        } catch (JsonProcessingException e) {
+            log.error("사고 데이터 직렬화 실패", e);
+            return;
+        }
+        int payloadBytes = accidentJson.getBytes(StandardCharsets.UTF_8).length;
+
         for (SseEmitter emitter : emitters) {
+            long sendStartNanos = System.nanoTime();
             try {
                 emitter.send(SseEmitter.event()
                         .name("accident-alert")
-                        .data(accidentList));
+                        .data(accidentJson));
+                sseMetrics.recordSend(sendStartNanos, payloadBytes);
             } catch (IOException e) {
                 emitter.completeWithError(e);
                 emitters.remove(emitter);
             }
         }
+        sseMetrics.recordFanout(startNanos);
     }
 
 }
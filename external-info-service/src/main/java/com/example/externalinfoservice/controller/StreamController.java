@@ -4,16 +4,25 @@ import com.example.externalinfoservice.service.AccidentEsService;
 import com.example.externalinfoservice.service.ESRoadService;
 import com.example.externalinfoservice.service.ParkEsService;
 import com.example.externalinfoservice.service.WeatherEsService;
+import com.example.externalinfoservice.sse.SseEmitters;
+import com.example.externalinfoservice.sse.SseMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -29,15 +38,50 @@ public class StreamController {
     private final ESRoadService roadService;
     private final ParkEsService parkEsService;
     private final AccidentEsService accidentEsService;
+    private final MeterRegistry meterRegistry;
+    // Spring 이 설정한 ObjectMapper (모듈, 날짜 형식 등 초기 전송과 같은 설정으로 직렬화)
+    private final ObjectMapper mapper;
 
+    // emitter 최대 수명, 지나면 연결을 닫고 브라우저가 재접속 (half-open 연결 자원 회수)
+    @Value("${external.sse.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${external.sse.max-connections:10000}")
+    private int maxConnections;
+
+    // 연결 수 초과로 거절할 때 재접속까지 대기 시간
+    @Value("${external.sse.retry-ms:5000}")
+    private long retryMs;
+
+    private SseMetrics sseMetrics;
+
+    @PostConstruct
+    void registerMetrics() {
+        sseMetrics = new SseMetrics(meterRegistry, "external", emitters);
+    }
+
+    // 최대 연결 수를 넘으면 503 + Retry-After 로 거절 (재접속은 클라이언트가 직접)
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream() {
-        SseEmitter emitter = new SseEmitter(0L); // 타임아웃 없음
+    public ResponseEntity<SseEmitter> stream() {
+        if (emitters.size() >= maxConnections) {
+            log.warn("external SSE 연결 수 초과 → 503");
+            return SseEmitters.unavailable(retryMs);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
         emitters.add(emitter);
 
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError((e) -> emitters.remove(emitter));
+        emitter.onCompletion(() -> {
+            sseMetrics.completed();
+            emitters.remove(emitter);
+        });
+        emitter.onTimeout(() -> {
+            sseMetrics.timedOut();
+            emitters.remove(emitter);
+        });
+        emitter.onError((e) -> {
+            sseMetrics.failed();
+            emitters.remove(emitter);
+        });
 
         // 구독시, 초기 데이터 주입
         try {
@@ -68,34 +112,59 @@ public class StreamController {
             emitters.remove(emitter);
         }
 
-        return emitter;
+        return ResponseEntity.ok(emitter);
     }
 
-    // 주기적으로 클라이언트에게 push
-    public void sendToClients(List<Map<String, Object>> weatherList, JsonNode trafficList, List<Map<String, Object>> parkList, List<Map<String, Object>> accidentList) {
+    // 주석 프레임으로 연결 확인, 쓰기 실패한(끊긴) 연결은 바로 정리
+    public void sendHeartbeat() {
         for (SseEmitter emitter : emitters) {
             try {
-                log.info("external 데이터 푸시 중...");
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                emitters.remove(emitter);
+            }
+        }
+    }
 
+    // 주기적으로 클라이언트에게 push (목록별 JSON 은 한 번만 직렬화해서 모든 클라이언트에 재사용)
+    public void sendToClients(List<Map<String, Object>> weatherList, JsonNode trafficList, List<Map<String, Object>> parkList, List<Map<String, Object>> accidentList) {
+        long startNanos = System.nanoTime();
+        String weatherJson;
+        String trafficJson;
+        String parkJson;
+        String accidentJson;
+        try {
+            weatherJson = mapper.writeValueAsString(weatherList);
+            trafficJson = mapper.writeValueAsString(trafficList);
+            parkJson = mapper.writeValueAsString(parkList);
+            accidentJson = mapper.writeValueAsString(accidentList);
+        } catch (JsonProcessingException e) {
+            log.error("external 데이터 직렬화 실패", e);
+            return;
+        }
+        int payloadBytes = weatherJson.getBytes(StandardCharsets.UTF_8).length
+                + trafficJson.getBytes(StandardCharsets.UTF_8).length
+                + parkJson.getBytes(StandardCharsets.UTF_8).length
+                + accidentJson.getBytes(StandardCharsets.UTF_8).length;
+
+        log.info("external 데이터 푸시 중... ({}명)", emitters.size());
+        for (SseEmitter emitter : emitters) {
+            long sendStartNanos = System.nanoTime();
+            try {
                 emitter.send(SseEmitter.event()
                         .name("weather-update")
-                        .data(weatherList));
-                log.info(".. 날씨 데이터 푸시 완료");
-
+                        .data(weatherJson));
                 emitter.send(SseEmitter.event()
                         .name("traffic-update")
-                        .data(trafficList));
-                log.info(".. 도로현황 데이터 푸시 완료");
-
+                        .data(trafficJson));
                 emitter.send(SseEmitter.event()
                         .name("park-update")
-                        .data(parkList));
-                log.info(".. 주차 데이터 푸시 완료");
-
+                        .data(parkJson));
                 emitter.send(SseEmitter.event()
                         .name("accident-alert")
-                        .data(accidentList));
-                log.info(".. 사고 데이터 푸시 완료");
+                        .data(accidentJson));
+                sseMetrics.recordSend(sendStartNanos, payloadBytes);
 
             } catch (IOException | IllegalStateException e) {
                 log.error("SSE 오류 발생");
@@ -103,5 +172,7 @@ public class StreamController {
                 emitters.remove(emitter);
             }
         }
+        log.info(".. external 데이터 푸시 완료");
+        sseMetrics.recordFanout(startNanos);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.externalinfoservice.scheduler;
 
+import com.example.externalinfoservice.controller.AccidentEsController;
 import com.example.externalinfoservice.controller.StreamController;
 import com.example.externalinfoservice.service.AccidentEsService;
 import com.example.externalinfoservice.service.ESRoadService;
@@ -18,10 +19,11 @@ public class PushScheduler {
     private final ParkEsService parkEsService;
     private final StreamController streamController;
     private final AccidentEsService accidentEsService;
+    private final AccidentEsController accidentEsController;
 
 
-    // 5분마다 날씨 데이터를 SSE 클라이언트에 push
-    @Scheduled(fixedRate = 300_000) // 5분 = 300초
+    // 5분마다 날씨 데이터를 SSE 클라이언트에 push (부하 테스트에서는 external.push.interval-ms 로 줄임)
+    @Scheduled(fixedRateString = "${external.push.interval-ms:300000}") // 5분 = 300초
     public void pushWeatherToClients() {
         var weatherList = weatherEsService.getAllWeatherFromES();
         var trafficList = roadService.getTrafficData();
@@ -30,4 +32,11 @@ public class PushScheduler {
         streamController.sendToClients(weatherList, trafficList, parkList,accidentList);
     }
 
+    // 푸시 사이에도 끊긴 SSE 연결을 빨리 발견하도록 heartbeat 전송
+    @Scheduled(fixedDelayString = "${external.sse.heartbeat-ms:15000}")
+    public void sendHeartbeat() {
+        streamController.sendHeartbeat();
+        accidentEsController.sendHeartbeat();
+    }
+
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package com.example.externalinfoservice.service;
 
+import com.example.escommon.EsIndexResolver;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.InvalidRequestException;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -13,8 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -27,13 +25,29 @@ public class AccidentEsService {
     private final RestTemplate restTemplate = new RestTemplate(); // 주입 방식으로 대체해도 OK
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Value("${elastic_url}")
-    private String elastic_url;
+    private final EsIndexResolver esIndexResolver;
+
+    // 마지막으로 정상 조회된 목록 (ES 오류일 때 대신 반환, 사고가 없는 빈 결과는 그대로 사용)
+    private volatile JsonNode lastGood;
 
     public JsonNode getAccidentData() {
         try {
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            String apiUrl = String.format(elastic_url + "/seoul_citydata_accident_%s/_search", today);
+            JsonNode result = fetchAccidentData();
+            lastGood = result;
+            return result;
+        } catch (RuntimeException e) {
+            if (lastGood != null) {
+                log.warn("사고 현황 조회 실패 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            throw e;
+        }
+    }
+
+    private JsonNode fetchAccidentData() {
+        try {
+            // 오늘(자정 직후에는 어제 포함) 인덱스, 어제 발생해 아직 처리 중인 사고도 포함됨
+            String apiUrl = esIndexResolver.searchUrl("seoul_citydata_accident_");
 
             String jsonBody = """
                 {
@@ -1,11 +1,11 @@
 package com.example.externalinfoservice.service;
 
+import com.example.escommon.EsIndexResolver;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.InvalidRequestException;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -13,8 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,14 +23,35 @@ public class ESRoadService {
 
     private static final RestTemplate restTemplate = new RestTemplate();
 
-    @Value("${elastic_url}")
-    private String elastic_url;
+    private final EsIndexResolver esIndexResolver;
+
+    // 마지막으로 정상 조회된 목록 (ES 오류나 빈 결과일 때 대신 반환)
+    private volatile JsonNode lastGood;
 
     public JsonNode getTrafficData() {
         try {
-            // 오늘 날짜 구하기
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-            String apiUrl = String.format(elastic_url + "/seoul_citydata_road_%s/_search", today);
+            JsonNode result = fetchTrafficData();
+            if (result.isEmpty() && lastGood != null) {
+                log.warn("도로 현황 조회 결과 없음 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            if (!result.isEmpty()) {
+                lastGood = result;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (lastGood != null) {
+                log.warn("도로 현황 조회 실패 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            throw e;
+        }
+    }
+
+    private JsonNode fetchTrafficData() {
+        try {
+            // 오늘(자정 직후에는 어제 포함) 인덱스
+            String apiUrl = esIndexResolver.searchUrl("seoul_citydata_road_");
 
             // JSON Body 생성
             String jsonBody = String.format("{\n" +
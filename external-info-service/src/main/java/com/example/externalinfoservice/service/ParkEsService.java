@@ -1,14 +1,12 @@
 package com.example.externalinfoservice.service;
 
+import com.example.escommon.EsIndexResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
@@ -18,13 +16,14 @@ public class ParkEsService {
 
     private final RestTemplate restTemplate = new RestTemplate();
 
-    @Value("${elastic_url}")
-    private String elastic_url;
+    private final EsIndexResolver esIndexResolver;
 
-    // 오늘 날짜 기반 인덱스 URL 생성
+    // 마지막으로 정상 조회된 목록 (ES 오류나 빈 결과일 때 대신 반환)
+    private volatile List<Map<String, Object>> lastGood;
+
+    // 오늘 날짜 기반 인덱스 URL 생성 (자정 직후에는 어제 포함)
     private String getTodayIndexUrl() {
-        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        return String.format(elastic_url + "/seoul_citydata_parking_%s/_search", today);
+        return esIndexResolver.searchUrl("seoul_citydata_parking_");
     }
 
 //    // 특정 지역 주차장 정보
@@ -62,6 +61,26 @@ public class ParkEsService {
 
     // 전체 지역 주차장 정보
     public List<Map<String, Object>> getAllParkFromES() {
+        try {
+            List<Map<String, Object>> results = fetchAllPark();
+            if (results.isEmpty() && lastGood != null) {
+                log.warn("주차 조회 결과 없음 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            if (!results.isEmpty()) {
+                lastGood = results;
+            }
+            return results;
+        } catch (RuntimeException e) {
+            if (lastGood != null) {
+                log.warn("주차 조회 실패 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            throw e;
+        }
+    }
+
+    private List<Map<String, Object>> fetchAllPark() {
         String url = getTodayIndexUrl();
     //  log.info("Requesting all park info");
 
@@ -74,7 +93,11 @@ public class ParkEsService {
                                         "latest_hit", Map.of(
                                                 "top_hits", Map.of(
                                                         "size", 1,
-                                                        "sort", List.of(Map.of("_score", Map.of("order", "desc")))
+                                                        // 자정 직후에는 어제 인덱스도 섞이므로 최신 인덱스 → 최신 주차 시각 순
+                                                        "sort", List.of(
+                                                                Map.of("_index", Map.of("order", "desc")),
+                                                                Map.of("parking.prk_stts.cur_prk_time", Map.of(
+                                                                        "order", "desc", "mode", "max", "unmapped_type", "date")))
                                                 )
                                         )
                                 )
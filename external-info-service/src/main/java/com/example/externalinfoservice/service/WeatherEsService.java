@@ -1,37 +1,42 @@
 package com.example.externalinfoservice.service;
 
+import com.example.escommon.EsIndexResolver;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class WeatherEsService {
 
     private final RestTemplate restTemplate = new RestTemplate();
 
-    @Value("${elastic_url}")
-    private String elastic_url;
+    private final EsIndexResolver esIndexResolver;
 
-    // 오늘 날짜 기반 인덱스 이름 생성
+    // 마지막으로 정상 조회된 목록 (ES 오류나 빈 결과일 때 대신 반환)
+    private volatile List<Map<String, Object>> lastGood;
+
+    // 오늘 날짜 기반 인덱스 URL 생성 (자정 직후에는 어제 포함)
     private String getTodayIndex() {
-        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        return String.format(elastic_url + "/seoul_citydata_weather_%s/_search", today);
+        return esIndexResolver.searchUrl("seoul_citydata_weather_");
     }
 
-    // 특정 지역 날씨 조회
+    // 특정 지역 날씨 조회 (자정 직후에는 어제 인덱스도 섞이므로 weather_time 최신 한 건)
     public Map<String, Object> getWeatherFromES(String area) {
         String url = getTodayIndex();
 
         Map<String, Object> term = Map.of("weather.area_nm", area);
         Map<String, Object> query = Map.of("term", term);
-        Map<String, Object> body = Map.of("size", 100, "query", query);
+        Map<String, Object> body = Map.of(
+                "size", 1,
+                "query", query,
+                "sort", List.of(Map.of("weather.weather_time", Map.of("order", "desc")))
+        );
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -50,6 +55,26 @@ public class WeatherEsService {
 
     // 전체 지역 날씨 조회
     public List<Map<String, Object>> getAllWeatherFromES() {
+        try {
+            List<Map<String, Object>> results = fetchAllWeather();
+            if (results.isEmpty() && lastGood != null) {
+                log.warn("날씨 조회 결과 없음 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            if (!results.isEmpty()) {
+                lastGood = results;
+            }
+            return results;
+        } catch (RuntimeException e) {
+            if (lastGood != null) {
+                log.warn("날씨 조회 실패 → 마지막 정상 데이터 사용");
+                return lastGood;
+            }
+            throw e;
+        }
+    }
+
+    private List<Map<String, Object>> fetchAllWeather() {
         String url = getTodayIndex();
 
         Map<String, Object> body = Map.of(
@@ -0,0 +1,77 @@
+package com.example.externalinfoservice.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SSE 스트림 지표 (actuator /actuator/metrics/sse.* 로 조회, stream 태그로 스트림 구분)
+ * - sse.connections : 현재 연결된 emitter 수
+ * - sse.completions / sse.timeouts / sse.errors : 연결 종료 사유별 누적 수 (completions 는 타임아웃/오류 종료도 포함)
+ * - sse.fanout.duration : 푸시 1회(tick)에 전체 구독자에게 보내는 데 걸린 시간
+ * - sse.send.duration / sse.payload.size : 클라이언트 1명에게 한 번 쓰는 시간과 바이트 수
+ */
+public class SseMetrics {
+    private final Counter completions;
+    private final Counter timeouts;
+    private final Counter errors;
+    private final Timer fanoutDuration;
+    private final Timer sendDuration;
+    private final DistributionSummary payloadSize;
+
+    public SseMetrics(MeterRegistry meterRegistry, String stream, Collection<?> emitters) {
+        Gauge.builder("sse.connections", emitters, Collection::size)
+                .tag("stream", stream)
+                .description("연결된 SSE 클라이언트 수")
+                .register(meterRegistry);
+        completions = Counter.builder("sse.completions").tag("stream", stream)
+                .description("종료된 SSE 연결 수")
+                .register(meterRegistry);
+        timeouts = Counter.builder("sse.timeouts").tag("stream", stream)
+                .description("타임아웃으로 종료된 SSE 연결 수")
+                .register(meterRegistry);
+        errors = Counter.builder("sse.errors").tag("stream", stream)
+                .description("오류로 종료된 SSE 연결 수")
+                .register(meterRegistry);
+        fanoutDuration = Timer.builder("sse.fanout.duration").tag("stream", stream)
+                .description("푸시 1회 전체 구독자 전송 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        sendDuration = Timer.builder("sse.send.duration").tag("stream", stream)
+                .description("클라이언트별 전송 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        payloadSize = DistributionSummary.builder("sse.payload.size").tag("stream", stream)
+                .description("클라이언트별 전송 바이트 수")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void completed() {
+        completions.increment();
+    }
+
+    public void timedOut() {
+        timeouts.increment();
+    }
+
+    public void failed() {
+        errors.increment();
+    }
+
+    // startNanos = System.nanoTime() at tick start
+    public void recordFanout(long startNanos) {
+        fanoutDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSend(long startNanos, int bytes) {
+        sendDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        payloadSize.record(bytes);
+    }
+}
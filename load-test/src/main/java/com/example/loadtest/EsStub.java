@@ -0,0 +1,135 @@
+package com.example.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Elasticsearch 대역 (WireMock)
+ * - 인덱스 prefix 별로 합성 응답(실제 ES 응답 형태로 만든 데이터, 실제 수집본 아님)을 돌려주고, 틱마다 a/b 응답을 번갈아 바꿔서 실제로 값이 바뀐 푸시를 만듦
+ * - 응답의 {{TICK_TIME}}(yyyy-MM-dd HH:mm), {{TICK_EPOCH}}(ms) 는 틱 시각으로 치환 → 클라이언트는 이 시각으로 어느 틱인지 구분
+ * - 틱 기준 스텁 응답에 X-Tick 헤더를 붙여서, 서비스가 새 데이터를 처음 가져간 시각을 틱 시작으로 기록
+ * - 그 밖의 요청(인덱스 미리 생성, 다른 조회)은 빈 결과
+ */
+final class EsStub implements AutoCloseable {
+    static final DateTimeFormatter TICK_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final String TICK_HEADER = "X-Tick";
+    private static final String EMPTY = "{\"hits\":{\"total\":{\"value\":0,\"relation\":\"eq\"},\"hits\":[]}}";
+
+    /**
+     * @param bodyContains 같은 prefix 에 여러 조회가 있을 때 요청 본문으로 구분 (없으면 null)
+     */
+    record Fixture(String indexPrefix, String bodyContains, String a, String b) {
+        static Fixture inline(String indexPrefix, String bodyContains, String body) {
+            return new Fixture(indexPrefix, bodyContains, body, body);
+        }
+
+        static Fixture files(String indexPrefix, String bodyContains, String a, String b) {
+            return new Fixture(indexPrefix, bodyContains, read(a), read(b));
+        }
+
+        private static String read(String resource) {
+            try (InputStream in = EsStub.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("리소스 없음: " + resource);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final WireMockServer server;
+    private final List<Fixture> fixtures;
+    private final int tickStub;
+    private final UUID[] stubIds;
+    // 틱 → 서비스가 그 틱 데이터를 처음 가져간 시각 (System.nanoTime)
+    private final Map<Integer, Long> servedAt = new ConcurrentHashMap<>();
+
+    EsStub(Target target, int port) {
+        this.fixtures = target.stubs;
+        this.tickStub = target.tickStub;
+        this.stubIds = new UUID[fixtures.size()];
+        for (int i = 0; i < stubIds.length; i++) {
+            stubIds[i] = UUID.randomUUID();
+        }
+
+        // 요청 기록은 끔 (장시간 실행 시 메모리 증가 방지)
+        server = new WireMockServer(options().port(port).containerThreads(32).disableRequestJournal());
+        server.addMockServiceRequestListener((request, response) -> {
+            HttpHeader tick = response.getHeaders().getHeader(TICK_HEADER);
+            if (tick.isPresent()) {
+                servedAt.putIfAbsent(Integer.parseInt(tick.firstValue()), System.nanoTime());
+            }
+        });
+        server.start();
+        server.stubFor(any(anyUrl()).atPriority(10).willReturn(okJson(EMPTY)));
+    }
+
+    /**
+     * 틱 데이터로 스텁 교체 (짝수 틱은 a, 홀수 틱은 b 응답)
+     */
+    void advance(int tick, LocalDateTime time) {
+        String tickTime = time.format(TICK_TIME);
+        String tickEpoch = String.valueOf(time.atZone(SEOUL).toInstant().toEpochMilli());
+        for (int i = 0; i < fixtures.size(); i++) {
+            Fixture fixture = fixtures.get(i);
+            String body = (tick % 2 == 0 ? fixture.a() : fixture.b())
+                    .replace("{{TICK_TIME}}", tickTime)
+                    .replace("{{TICK_EPOCH}}", tickEpoch);
+
+            var response = aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody(body);
+            if (i == tickStub) {
+                response.withHeader(TICK_HEADER, String.valueOf(tick));
+            }
+            MappingBuilder mapping = post(urlPathMatching("/" + fixture.indexPrefix() + "[^/]*/_search"))
+                    .withId(stubIds[i])
+                    .atPriority(1)
+                    .willReturn(response);
+            if (fixture.bodyContains() != null) {
+                mapping.withRequestBody(containing(fixture.bodyContains()));
+            }
+
+            if (tick == 0) {
+                server.stubFor(mapping);
+            } else {
+                server.editStub(mapping);
+            }
+        }
+    }
+
+    /**
+     * 서비스가 해당 틱 데이터를 처음 가져간 시각 (아직이면 null)
+     */
+    Long servedAt(int tick) {
+        return servedAt.get(tick);
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
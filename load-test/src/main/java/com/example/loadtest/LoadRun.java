@@ -0,0 +1,93 @@
+package com.example.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부하 테스트 한 번의 측정 상태
+ * - 틱마다 연결별 수신 시각(System.nanoTime)을 모으고, 끝나면 ES 스텁이 응답한 시각 기준으로 지연 계산
+ * - 연결 실패(응답 전 오류), 거절(200 이외), 끊김(열린 뒤 종료), 누락(틱 제한 시간 안에 못 받음)을 따로 셈
+ */
+final class LoadRun {
+    private final List<String> tickTimes = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Queue<Long>> receipts = new ConcurrentHashMap<>();
+    // 틱 시작 시점의 열린 연결 수 (누락 계산용)
+    private final Map<Integer, Integer> expected = new ConcurrentHashMap<>();
+
+    final AtomicInteger connectFailures = new AtomicInteger();
+    final Map<Integer, AtomicInteger> rejectedByStatus = new ConcurrentHashMap<>();
+    final AtomicInteger drops = new AtomicInteger();
+
+    /**
+     * 틱 등록 (tick 0 은 연결 전 초기 데이터, 지연 측정은 1부터)
+     */
+    void tick(int tick, LocalDateTime time, int activeConnections) {
+        receipts.put(tick, new ConcurrentLinkedQueue<>());
+        expected.put(tick, activeConnections);
+        tickTimes.add(time.format(EsStub.TICK_TIME));
+    }
+
+    /**
+     * 이벤트 본문에 들어 있는 틱 시각으로 몇 번째 틱인지 판단 (최신 틱부터, 모르면 -1)
+     */
+    int tickOf(StringBuilder data) {
+        for (int tick = tickTimes.size() - 1; tick >= 0; tick--) {
+            if (data.indexOf(tickTimes.get(tick)) >= 0) {
+                return tick;
+            }
+        }
+        return -1;
+    }
+
+    void delivered(int tick, long receivedAt) {
+        Queue<Long> queue = receipts.get(tick);
+        if (queue != null) {
+            queue.add(receivedAt);
+        }
+    }
+
+    int deliveredCount(int tick) {
+        Queue<Long> queue = receipts.get(tick);
+        return queue == null ? 0 : queue.size();
+    }
+
+    int missed(int tick) {
+        return Math.max(0, expected.getOrDefault(tick, 0) - deliveredCount(tick));
+    }
+
+    void rejected(int status) {
+        rejectedByStatus.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void dropped() {
+        drops.incrementAndGet();
+    }
+
+    /**
+     * 틱 시작(servedAt) → 연결별 수신까지 지연 (ms, 오름차순)
+     */
+    double[] latenciesMillis(int tick, long servedAt) {
+        Queue<Long> queue = receipts.get(tick);
+        if (queue == null) {
+            return new double[0];
+        }
+        double[] latencies = queue.stream().mapToDouble(receivedAt -> (receivedAt - servedAt) / 1_000_000.0).toArray();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    static double percentile(double[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
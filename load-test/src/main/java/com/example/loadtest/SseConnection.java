@@ -0,0 +1,94 @@
+package com.example.loadtest;
+
+import java.util.concurrent.Flow;
+
+/**
+ * SSE 연결 하나 (HttpClient 의 줄 단위 body subscriber)
+ * - 스레드를 붙잡지 않고 HttpClient executor 에서 줄을 받아 event/data 만 해석
+ * - 빈 줄에서 이벤트를 완성하고, 틱 이벤트면 LoadRun 에 수신 시각을 알림
+ */
+final class SseConnection implements Flow.Subscriber<String> {
+    private final LoadRun run;
+    private final String tickEvent;
+
+    private String eventName = "message";
+    private final StringBuilder data = new StringBuilder();
+    // 이 연결이 마지막으로 받은 틱 (같은 틱 중복 수신은 한 번만 셈)
+    private int lastTick = -1;
+    // 200 응답을 받아 스트림이 열렸는지, 열린 뒤 끊겼는지
+    private volatile boolean accepted;
+    private volatile boolean closed;
+    private volatile boolean initialReceived;
+
+    SseConnection(LoadRun run, String tickEvent) {
+        this.run = run;
+        this.tickEvent = tickEvent;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        long receivedAt = System.nanoTime();
+        if (line.isEmpty()) {
+            dispatch(receivedAt);
+        } else if (line.startsWith("event:")) {
+            eventName = line.substring(6).trim();
+        } else if (line.startsWith("data:")) {
+            if (!data.isEmpty()) {
+                data.append('\n');
+            }
+            data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+        }
+        // id:, retry:, 주석(heartbeat) 은 무시
+    }
+
+    private void dispatch(long receivedAt) {
+        if (tickEvent.equals(eventName) && !data.isEmpty()) {
+            initialReceived = true;
+            int tick = run.tickOf(data);
+            if (tick > lastTick) {
+                lastTick = tick;
+                run.delivered(tick, receivedAt);
+            }
+        }
+        eventName = "message";
+        data.setLength(0);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closed();
+    }
+
+    @Override
+    public void onComplete() {
+        closed();
+    }
+
+    private void closed() {
+        if (accepted && !closed) {
+            closed = true;
+            run.dropped();
+        }
+    }
+
+    void accepted() {
+        accepted = true;
+    }
+
+    boolean isAccepted() {
+        return accepted;
+    }
+
+    boolean isInitialReceived() {
+        return initialReceived;
+    }
+
+    boolean isActive() {
+        return accepted && !closed;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * SSE 부하 테스트 (congestion-service, external-info-service)
+ * 1. ES 대역(WireMock)을 띄우고 틱 0 데이터로 스텁
+ * 2. SSE 연결을 ramp-per-sec 속도로 connections 개 열고 초기 이벤트 수신까지 대기
+ * 3. 연결 전후 서비스 heap 사용량(actuator, 여러 번 잰 최솟값)으로 연결당 메모리 추정
+ * 4. 틱마다 ES 응답을 바꿔서 푸시를 유도하고, 서비스가 새 데이터를 가져간 시각 → 연결별 수신 시각 지연 측정
+ *
+ * 실행: ./gradlew run --args="--target congestion --base-url http://localhost:8081 --connections 5000"
+ * 대상 서비스는 elastic_url=http://localhost:{es-port} 로 띄워야 함 (README 참고)
+ */
+public class SseLoadTest {
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Target target = Target.valueOf(options.getOrDefault("target", "congestion").toUpperCase(Locale.ROOT));
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8081");
+        String actuatorUrl = options.getOrDefault("actuator-url", baseUrl);
+        int esPort = Integer.parseInt(options.getOrDefault("es-port", "9200"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", "1000"));
+        int rampPerSec = Integer.parseInt(options.getOrDefault("ramp-per-sec", "200"));
+        int ticks = Integer.parseInt(options.getOrDefault("ticks", "10"));
+        long tickIntervalMs = Long.parseLong(options.getOrDefault("tick-interval-ms", "10000"));
+        long tickTimeoutMs = Long.parseLong(options.getOrDefault("tick-timeout-ms", "30000"));
+        String query = options.getOrDefault("query", "");
+        int heapSamples = Integer.parseInt(options.getOrDefault("heap-samples", "5"));
+
+        URI streamUri = URI.create(baseUrl + target.path + (query.isEmpty() ? "" : "?" + query));
+        LoadRun run = new LoadRun();
+        // 틱 시각은 5분 간격 (실제 수집 주기), 서비스의 최신 시각 기준은 메모리에만 있으므로 실행마다 서비스 재시작 권장
+        LocalDateTime baseTime = LocalDateTime.now(SEOUL).truncatedTo(ChronoUnit.MINUTES);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+
+        try (EsStub esStub = new EsStub(target, esPort)) {
+            run.tick(0, baseTime, 0);
+            esStub.advance(0, baseTime);
+            System.out.printf("ES 대역 : http://localhost:%d, 대상 : %s%n", esPort, streamUri);
+
+            Double heapBefore = heapUsed(client, actuatorUrl, heapSamples);
+
+            // 연결 열기
+            List<SseConnection> opened = new ArrayList<>(connections);
+            long connectStart = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                SseConnection connection = new SseConnection(run, target.tickEvent);
+                opened.add(connection);
+                HttpRequest request = HttpRequest.newBuilder(streamUri)
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                client.sendAsync(request, info -> {
+                    if (info.statusCode() == 200) {
+                        connection.accepted();
+                        return HttpResponse.BodySubscribers.fromLineSubscriber(connection);
+                    }
+                    run.rejected(info.statusCode());
+                    return HttpResponse.BodySubscribers.discarding();
+                }).exceptionally(e -> {
+                    if (!connection.isAccepted()) {
+                        run.connectFailures.incrementAndGet();
+                    }
+                    return null;
+                });
+                if (rampPerSec > 0 && (i + 1) % rampPerSec == 0) {
+                    Thread.sleep(1000);
+                }
+            }
+            awaitUntil(() -> opened.stream().filter(SseConnection::isActive).allMatch(SseConnection::isInitialReceived)
+                    && opened.stream().filter(SseConnection::isAccepted).count()
+                    + run.connectFailures.get() + rejectedTotal(run) >= connections, 60_000);
+            double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+            long active = opened.stream().filter(SseConnection::isActive).count();
+            System.out.printf("연결 : %d/%d 열림 (%.1fs), 초기 이벤트 수신 %d%n", active, connections, connectSeconds,
+                    opened.stream().filter(SseConnection::isInitialReceived).count());
+
+            // 연결 유지 상태 heap (GC 를 강제할 수 없으므로 여러 번 잰 최솟값으로 추정)
+            Thread.sleep(5_000);
+            Double heapAfter = heapUsed(client, actuatorUrl, heapSamples);
+            Double serverConnections = gauge(client, actuatorUrl, "sse.connections");
+
+            // 틱 진행
+            List<double[]> latencies = new ArrayList<>();
+            int missed = 0;
+            int unserved = 0;
+            for (int tick = 1; tick <= ticks; tick++) {
+                long tickStart = System.nanoTime();
+                int expected = (int) opened.stream().filter(SseConnection::isActive).count();
+                LocalDateTime tickTime = baseTime.plusMinutes(5L * tick);
+                run.tick(tick, tickTime, expected);
+                esStub.advance(tick, tickTime);
+
+                int current = tick;
+                awaitUntil(() -> run.deliveredCount(current) >= expected, tickTimeoutMs);
+                Long servedAt = esStub.servedAt(tick);
+                if (servedAt == null) {
+                    unserved++;
+                    System.out.printf("틱 %d : 서비스가 새 데이터를 가져가지 않음%n", tick);
+                } else {
+                    double[] tickLatencies = run.latenciesMillis(tick, servedAt);
+                    latencies.add(tickLatencies);
+                    System.out.printf("틱 %d : %d/%d 수신, p50 %.1fms, p99 %.1fms%n", tick, tickLatencies.length, expected,
+                            LoadRun.percentile(tickLatencies, 50), LoadRun.percentile(tickLatencies, 99));
+                }
+                missed += run.missed(tick);
+
+                long remaining = tickIntervalMs - (System.nanoTime() - tickStart) / 1_000_000;
+                if (remaining > 0 && tick < ticks) {
+                    Thread.sleep(remaining);
+                }
+            }
+
+            printReport(connections, active, run, latencies, missed, unserved, heapBefore, heapAfter, serverConnections);
+        } finally {
+            executor.shutdownNow();
+        }
+        // 남은 SSE 연결은 프로세스 종료로 정리
+        System.exit(0);
+    }
+
+    private static void printReport(int connections, long active, LoadRun run, List<double[]> tickLatencies,
+                                    int missed, int unserved, Double heapBefore, Double heapAfter, Double serverConnections) {
+        double[] all = tickLatencies.stream().flatMapToDouble(Arrays::stream).sorted().toArray();
+
+        System.out.println();
+        System.out.println("=== 결과 ===");
+        System.out.printf("연결        : 요청 %d, 열림 %d, 연결 실패 %d, 거절 %s, 끊김 %d%n",
+                connections, active, run.connectFailures.get(), run.rejectedByStatus, run.drops.get());
+        System.out.printf("전달 지연   : p50 %.1fms, p90 %.1fms, p99 %.1fms, p99.9 %.1fms, max %.1fms (%d건)%n",
+                LoadRun.percentile(all, 50), LoadRun.percentile(all, 90), LoadRun.percentile(all, 99),
+                LoadRun.percentile(all, 99.9), all.length == 0 ? Double.NaN : all[all.length - 1], all.length);
+        System.out.printf("누락        : 수신 못한 틱 이벤트 %d, 푸시되지 않은 틱 %d%n", missed, unserved);
+        if (heapBefore != null && heapAfter != null && active > 0 && heapAfter > heapBefore) {
+            System.out.printf("메모리      : heap %.1fMB → %.1fMB, 연결당 약 %.1fKB (서버 연결 수 %s)%n",
+                    heapBefore / 1048576, heapAfter / 1048576, (heapAfter - heapBefore) / active / 1024,
+                    serverConnections == null ? "-" : String.format("%.0f", serverConnections));
+        } else if (heapBefore != null && heapAfter != null) {
+            // 그 사이 GC 로 heap 이 줄어든 경우 (연결 수가 적을 때 흔함)
+            System.out.printf("메모리      : heap %.1fMB → %.1fMB, 연결당 추정 불가 (GC 영향, 연결 수를 늘리거나 --heap-samples 를 늘려 다시 측정)%n",
+                    heapBefore / 1048576, heapAfter / 1048576);
+        } else {
+            System.out.println("메모리      : 측정 안 됨 (actuator metrics 노출 필요)");
+        }
+    }
+
+    private static int rejectedTotal(LoadRun run) {
+        return run.rejectedByStatus.values().stream().mapToInt(count -> count.get()).sum();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    // 1초 간격으로 samples 번 잰 heap 사용량 중 최솟값 (GC 직후에 가까운 값, 모두 실패하면 null)
+    private static Double heapUsed(HttpClient client, String actuatorUrl, int samples) throws InterruptedException {
+        Double min = null;
+        for (int i = 0; i < samples; i++) {
+            if (i > 0) {
+                Thread.sleep(1_000);
+            }
+            Double used = metric(client, actuatorUrl + "/actuator/metrics/jvm.memory.used?tag=area:heap");
+            if (used != null && (min == null || used < min)) {
+                min = used;
+            }
+        }
+        return min;
+    }
+
+    private static Double gauge(HttpClient client, String actuatorUrl, String name) {
+        return metric(client, actuatorUrl + "/actuator/metrics/" + name);
+    }
+
+    // actuator metrics 값 (노출 안 됐거나 실패하면 null)
+    private static Double metric(HttpClient client, String url) {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            JsonNode value = mapper.readTree(response.body()).path("measurements").path(0).path("value");
+            return value.isNumber() ? value.asDouble() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // --key value 형식 옵션
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("잘못된 옵션: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
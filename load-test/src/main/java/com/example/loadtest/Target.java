@@ -0,0 +1,38 @@
+package com.example.loadtest;
+
+import java.util.List;
+
+/**
+ * 부하 테스트 대상 서비스별 설정
+ * - path : SSE 구독 경로
+ * - tickEvent : 틱마다 전송되는 이벤트 이름 (지연 측정 기준)
+ * - tickStub : 이 스텁이 새 데이터를 처음 응답한 시각을 틱 시작으로 봄
+ * - stubs : ES 대신 응답할 합성 응답 (실제 응답 형태로 만든 데이터, a/b 두 벌을 틱마다 번갈아 사용)
+ */
+enum Target {
+    CONGESTION("/main/congestion", "congestion-update", 1, List.of(
+            // PushScheduler.poll 의 최신 ppltn_time/문서 수 확인 (size 0 + total hits + max 집계)
+            EsStub.Fixture.inline("seoul_citydata_congestion_", "\"latest\"",
+                    "{\"hits\":{\"total\":{\"value\":120,\"relation\":\"eq\"},\"hits\":[]},"
+                            + "\"aggregations\":{\"latest\":{\"value\":{{TICK_EPOCH}}}}}"),
+            EsStub.Fixture.files("seoul_citydata_congestion_", "\"by_area\"",
+                    "es/congestion-a.json", "es/congestion-b.json"))),
+
+    EXTERNAL("/main/stream", "weather-update", 0, List.of(
+            EsStub.Fixture.files("seoul_citydata_weather_", null, "es/weather-a.json", "es/weather-b.json"),
+            EsStub.Fixture.files("seoul_citydata_road_", null, "es/road-a.json", "es/road-b.json"),
+            EsStub.Fixture.files("seoul_citydata_parking_", null, "es/parking-a.json", "es/parking-b.json"),
+            EsStub.Fixture.files("seoul_citydata_accident_", null, "es/accident.json", "es/accident.json")));
+
+    final String path;
+    final String tickEvent;
+    final int tickStub;
+    final List<EsStub.Fixture> stubs;
+
+    Target(String path, String tickEvent, int tickStub, List<EsStub.Fixture> stubs) {
+        this.path = path;
+        this.tickEvent = tickEvent;
+        this.tickStub = tickStub;
+        this.stubs = stubs;
+    }
+}